@@ -0,0 +1,53 @@
+package com.assessment.librarySystem.benchmarks;
+
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.mapper.BookMapper;
+import com.assessment.librarySystem.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookMapper.toResponseList over catalog-sized lists
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMapperBenchmark {
+    
+    @Param({"1000", "100000"})
+    private int size;
+    
+    private final BookMapper bookMapper = new BookMapper();
+    private List<Book> books;
+    
+    @Setup
+    public void setUp() {
+        books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Book book = new Book(String.format("978-%010d", i), "Title " + i, "Author " + (i % 500));
+            book.setId((long) i + 1);
+            books.add(book);
+        }
+    }
+    
+    @Benchmark
+    public List<BookResponse> toResponseList() {
+        return bookMapper.toResponseList(books);
+    }
+}
@@ -0,0 +1,103 @@
+package com.assessment.librarySystem.benchmarks;
+
+import com.assessment.librarySystem.LibrarySystemApplication;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.service.interfaces.BookService;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full borrow-then-return cycles through the services, against the Flyway schema on an embedded H2 database
+ * in PostgreSQL compatibility mode. Each benchmark thread cycles its own book, so threads do not contend on loans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowCycleBenchmark {
+    
+    /** Upper bound on benchmark threads (-t); one book is registered per thread */
+    private static final int MAX_THREADS = 64;
+    
+    @State(Scope.Benchmark)
+    public static class Library {
+        
+        ConfigurableApplicationContext context;
+        BorrowService borrowService;
+        Long borrowerId;
+        final List<Long> bookIds = new ArrayList<>(MAX_THREADS);
+        final AtomicInteger nextBook = new AtomicInteger();
+        
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(LibrarySystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=",
+                     "--spring.datasource.driver-class-name=org.h2.Driver",
+                     "--spring.r2dbc.url=r2dbc:h2:mem:///benchmarks?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                     "--spring.r2dbc.username=sa",
+                     "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.assessment.librarySystem=WARN");
+            borrowService = context.getBean(BorrowService.class);
+            borrowerId = context.getBean(BorrowerService.class)
+                .registerBorrower(new Borrower("Benchmark Borrower", "benchmark@example.com")).getId();
+            
+            List<Book> books = new ArrayList<>(MAX_THREADS);
+            for (int i = 0; i < MAX_THREADS; i++) {
+                books.add(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+            }
+            context.getBean(BookService.class).registerBooks(books).stream()
+                .map(OperationResult::getData)
+                .forEach(book -> bookIds.add(book.getId()));
+        }
+        
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Loan {
+        
+        Long bookId;
+        
+        @Setup(Level.Trial)
+        public void assignBook(Library library) {
+            bookId = library.bookIds.get(library.nextBook.getAndIncrement());
+        }
+    }
+    
+    @Benchmark
+    public BorrowRecord borrowAndReturn(Library library, Loan loan) {
+        library.borrowService.borrowBook(library.borrowerId, loan.bookId);
+        return library.borrowService.returnBook(library.borrowerId, loan.bookId);
+    }
+}
@@ -0,0 +1,56 @@
+package com.assessment.librarySystem.benchmarks;
+
+import com.assessment.librarySystem.dto.response.BorrowOperationResponse;
+import com.assessment.librarySystem.mapper.BorrowRecordMapper;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BorrowRecordMapper response building, which is dominated by the confirmation message formatting
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BorrowRecordMapperBenchmark {
+    
+    private final BorrowRecordMapper borrowRecordMapper = new BorrowRecordMapper();
+    private BorrowRecord borrowRecord;
+    
+    @Setup
+    public void setUp() {
+        Borrower borrower = new Borrower("John Doe", "john@example.com");
+        borrower.setId(1L);
+        Book book = new Book("978-0134685991", "Effective Java", "Joshua Bloch");
+        book.setId(1L);
+        borrowRecord = new BorrowRecord(borrower, book);
+        borrowRecord.setId(1L);
+        borrowRecord.setReturnDate(LocalDateTime.now());
+    }
+    
+    @Benchmark
+    public BorrowOperationResponse toBorrowOperationResponse() {
+        return borrowRecordMapper.toBorrowOperationResponse(borrowRecord);
+    }
+    
+    @Benchmark
+    public BorrowOperationResponse toReturnOperationResponse() {
+        return borrowRecordMapper.toReturnOperationResponse(borrowRecord);
+    }
+}
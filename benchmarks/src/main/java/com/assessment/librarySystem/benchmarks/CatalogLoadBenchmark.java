@@ -0,0 +1,102 @@
+package com.assessment.librarySystem.benchmarks;
+
+import com.assessment.librarySystem.LibrarySystemApplication;
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.mapper.BookMapper;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.service.interfaces.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing the whole catalog as managed Book entities mapped by BookMapper, versus the CatalogEntry projection
+ * behind BookService.getCatalog. Run with {@code -prof gc}: gc.alloc.rate.norm is the bytes allocated per listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CatalogLoadBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param("1000000")
+    int rows;
+
+    ConfigurableApplicationContext context;
+    BookService bookService;
+    BookRepository bookRepository;
+    BookMapper bookMapper;
+    TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(LibrarySystemApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.datasource.url=jdbc:h2:mem:catalog;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                 "--spring.datasource.username=sa",
+                 "--spring.datasource.password=",
+                 "--spring.datasource.driver-class-name=org.h2.Driver",
+                 "--spring.r2dbc.url=r2dbc:h2:mem:///catalog?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                 "--spring.r2dbc.username=sa",
+                 "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                 "--logging.level.root=WARN",
+                 "--logging.level.com.assessment.librarySystem=WARN");
+        bookService = context.getBean(BookService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        bookMapper = context.getBean(BookMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[] {(long) i, String.format("978-%010d", i), "Title " + i, "Author " + (i % 5000)});
+            if (batch.size() == INSERT_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO books (id, isbn, title, author) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * What getAllBooks used to do: managed entities, each with a lazy borrowRecords collection, copied by the mapper
+     */
+    @Benchmark
+    public List<BookResponse> entities() {
+        return readOnlyTransaction.execute(status -> bookMapper.toResponseList(bookRepository.findAll()));
+    }
+
+    @Benchmark
+    public List<BookResponse> projection() {
+        return bookService.getCatalog();
+    }
+}
@@ -0,0 +1,92 @@
+package com.assessment.librarySystem.benchmarks;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Repositories that hold nothing and keep nothing, so service code can be measured without a database or a
+ * mocking framework in the way. Every method is answered from its return type: finders return empty results,
+ * counts zero, exists checks false, and saves hand back what they were given. Methods a repository declares
+ * later are covered without changes here.
+ */
+final class EmptyRepositories {
+    
+    private EmptyRepositories() {}
+    
+    static <T> T of(Class<T> repositoryType) {
+        InvocationHandler handler = (proxy, method, args) -> answer(proxy, method, args);
+        return repositoryType.cast(Proxy.newProxyInstance(
+            repositoryType.getClassLoader(), new Class<?>[] {repositoryType}, handler));
+    }
+    
+    private static Object answer(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "Empty " + proxy.getClass().getInterfaces()[0].getSimpleName();
+            };
+        }
+        if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        if (method.getName().startsWith("save")) {
+            return args[0] instanceof Iterable<?> entities ? toList(entities) : args[0];
+        }
+        return empty(method.getReturnType(), args);
+    }
+    
+    private static Object empty(Class<?> type, Object[] args) {
+        if (type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == Stream.class) {
+            return Stream.empty();
+        }
+        if (type == Page.class) {
+            return Page.empty(args == null ? Pageable.unpaged() : Arrays.stream(args)
+                .filter(Pageable.class::isInstance).map(Pageable.class::cast).findFirst().orElse(Pageable.unpaged()));
+        }
+        if (type == Set.class) {
+            return Set.of();
+        }
+        if (type == Map.class) {
+            return Map.of();
+        }
+        // List, Collection and Iterable
+        if (type.isAssignableFrom(List.class)) {
+            return List.of();
+        }
+        // A single entity or projection that an empty repository does not have
+        return null;
+    }
+    
+    private static List<Object> toList(Iterable<?> entities) {
+        List<Object> list = new ArrayList<>();
+        entities.forEach(list::add);
+        return list;
+    }
+}
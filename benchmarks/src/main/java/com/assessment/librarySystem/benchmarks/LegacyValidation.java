@@ -0,0 +1,57 @@
+package com.assessment.librarySystem.benchmarks;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+
+/**
+ * The regex-based validation used before the validation package, kept as a baseline for ValidationBenchmark
+ */
+final class LegacyValidation {
+    
+    private LegacyValidation() {}
+    
+    static void validateBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Book title is required");
+        }
+        if (book.getAuthor() == null || book.getAuthor().trim().isEmpty()) {
+            throw new IllegalArgumentException("Book author is required");
+        }
+        if (book.getIsbn() == null || book.getIsbn().trim().isEmpty()) {
+            throw new IllegalArgumentException("Book ISBN is required");
+        }
+        if (!isValidIsbn(book.getIsbn())) {
+            throw new IllegalArgumentException("Invalid ISBN format");
+        }
+    }
+    
+    static void validateBorrower(Borrower borrower) {
+        if (borrower == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+        if (borrower.getName() == null || borrower.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Borrower name is required");
+        }
+        if (borrower.getName().length() < 2 || borrower.getName().length() > 100) {
+            throw new IllegalArgumentException("Borrower name must be between 2 and 100 characters");
+        }
+        if (borrower.getEmail() == null || borrower.getEmail().trim().isEmpty()) {
+            throw new IllegalArgumentException("Borrower email is required");
+        }
+        if (!isValidEmail(borrower.getEmail())) {
+            throw new IllegalArgumentException("Invalid email format");
+        }
+    }
+    
+    private static boolean isValidIsbn(String isbn) {
+        String cleanIsbn = isbn.replaceAll("[\\s-]", "");
+        return cleanIsbn.matches("^\\d{10}$") || cleanIsbn.matches("^\\d{13}$");
+    }
+    
+    private static boolean isValidEmail(String email) {
+        return email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+    }
+}
@@ -0,0 +1,88 @@
+package com.assessment.librarySystem.benchmarks;
+
+import com.assessment.librarySystem.common.ValidationResult;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.service.impl.AvailabilityIndexImpl;
+import com.assessment.librarySystem.service.impl.BookServiceImpl;
+import com.assessment.librarySystem.service.impl.CatalogSearchIndexImpl;
+import com.assessment.librarySystem.validation.BookValidator;
+import com.assessment.librarySystem.validation.BorrowerValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-path validation: BookServiceImpl.registerBook over empty repositories (EmptyRepositories), and the validators
+ * against the regex-based code they replaced (LegacyValidation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    
+    private Book book;
+    private Borrower borrower;
+    private BookServiceImpl bookService;
+    private CatalogSearchIndexImpl catalogSearchIndex;
+    
+    @Setup
+    public void setUp() {
+        book = new Book("978-0134685991", "Effective Java", "Joshua Bloch");
+        borrower = new Borrower("Joshua Bloch", "joshua.bloch@example.com");
+        BookRepository bookRepository = EmptyRepositories.of(BookRepository.class);
+        AvailabilityIndexImpl availabilityIndex = new AvailabilityIndexImpl(
+            EmptyRepositories.of(BorrowRecordRepository.class), EmptyRepositories.of(BookHoldRepository.class));
+        catalogSearchIndex = new CatalogSearchIndexImpl(bookRepository);
+        bookService = new BookServiceImpl(bookRepository, availabilityIndex, catalogSearchIndex, event -> {});
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        catalogSearchIndex.destroy();
+    }
+    
+    @Benchmark
+    public Book registerBook() {
+        return bookService.registerBook(book);
+    }
+    
+    @Benchmark
+    public ValidationResult validateBook() {
+        return BookValidator.validate(book);
+    }
+    
+    @Benchmark
+    public Book validateBookLegacy() {
+        LegacyValidation.validateBook(book);
+        return book;
+    }
+    
+    @Benchmark
+    public ValidationResult validateBorrower() {
+        return BorrowerValidator.validate(borrower);
+    }
+    
+    @Benchmark
+    public Borrower validateBorrowerLegacy() {
+        LegacyValidation.validateBorrower(borrower);
+        return borrower;
+    }
+}
@@ -0,0 +1,11 @@
+package com.assessment.librarySystem.common;
+
+/**
+ * Payload format of a bulk import
+ */
+public enum BulkFormat {
+    /** A JSON array, or newline-delimited JSON objects */
+    JSON,
+    /** CSV with a header row naming the fields */
+    CSV
+}
@@ -0,0 +1,95 @@
+package com.assessment.librarySystem.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bit set over non-negative long keys. Bits live in fixed-size pages of atomic words
+ * that are allocated on first use, so sparse or growing ID ranges stay compact.
+ */
+public final class ConcurrentBitSet {
+    
+    private static final int PAGE_BITS = 1 << 16;
+    private static final int WORDS_PER_PAGE = PAGE_BITS / Long.SIZE;
+    
+    private final Map<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+    
+    /**
+     * Set or clear the bit for a key
+     */
+    public void set(long key, boolean value) {
+        if (value) {
+            set(key);
+        } else {
+            clear(key);
+        }
+    }
+    
+    public void set(long key) {
+        AtomicLongArray page = pages.computeIfAbsent(pageOf(key), index -> new AtomicLongArray(WORDS_PER_PAGE));
+        long mask = maskOf(key);
+        page.getAndAccumulate(wordOf(key), mask, (word, bit) -> word | bit);
+    }
+    
+    public void clear(long key) {
+        AtomicLongArray page = pages.get(pageOf(key));
+        if (page != null) {
+            page.getAndAccumulate(wordOf(key), maskOf(key), (word, bit) -> word & ~bit);
+        }
+    }
+    
+    public boolean get(long key) {
+        AtomicLongArray page = pages.get(pageOf(key));
+        return page != null && (page.get(wordOf(key)) & maskOf(key)) != 0;
+    }
+    
+    /**
+     * Number of set bits; a moment-in-time count while other threads write
+     */
+    public long cardinality() {
+        long count = 0;
+        for (AtomicLongArray page : pages.values()) {
+            for (int i = 0; i < WORDS_PER_PAGE; i++) {
+                count += Long.bitCount(page.get(i));
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Number of keys whose bit differs between the two sets
+     */
+    public static long countDifferences(ConcurrentBitSet first, ConcurrentBitSet second) {
+        long count = 0;
+        for (Map.Entry<Long, AtomicLongArray> entry : first.pages.entrySet()) {
+            AtomicLongArray other = second.pages.get(entry.getKey());
+            for (int i = 0; i < WORDS_PER_PAGE; i++) {
+                count += Long.bitCount(entry.getValue().get(i) ^ (other == null ? 0 : other.get(i)));
+            }
+        }
+        for (Map.Entry<Long, AtomicLongArray> entry : second.pages.entrySet()) {
+            if (!first.pages.containsKey(entry.getKey())) {
+                for (int i = 0; i < WORDS_PER_PAGE; i++) {
+                    count += Long.bitCount(entry.getValue().get(i));
+                }
+            }
+        }
+        return count;
+    }
+    
+    private static long pageOf(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key must not be negative: " + key);
+        }
+        return key / PAGE_BITS;
+    }
+    
+    private static int wordOf(long key) {
+        return (int) (key % PAGE_BITS) / Long.SIZE;
+    }
+    
+    private static long maskOf(long key) {
+        return 1L << (key % Long.SIZE);
+    }
+}
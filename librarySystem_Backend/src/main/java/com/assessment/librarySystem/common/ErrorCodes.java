@@ -0,0 +1,17 @@
+package com.assessment.librarySystem.common;
+
+/**
+ * Machine-readable failure codes carried by {@link OperationResult.Failure} in bulk operations
+ */
+public final class ErrorCodes {
+    
+    public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    public static final String ISBN_CONFLICT = "ISBN_CONFLICT";
+    public static final String EMAIL_CONFLICT = "EMAIL_CONFLICT";
+    public static final String DUPLICATE_ITEM = "DUPLICATE_ITEM";
+    public static final String BOOK_NOT_FOUND = "BOOK_NOT_FOUND";
+    public static final String BOOK_UNAVAILABLE = "BOOK_UNAVAILABLE";
+    public static final String NO_ACTIVE_LOAN = "NO_ACTIVE_LOAN";
+    
+    private ErrorCodes() {}
+}
@@ -0,0 +1,26 @@
+package com.assessment.librarySystem.common;
+
+import java.util.Locale;
+
+/**
+ * Filter for a borrower's loan history: loans not yet returned, or returned ones
+ */
+public enum LoanStatus {
+    ACTIVE,
+    RETURNED;
+    
+    /**
+     * Parse the status query parameter (case-insensitive); null means no filter
+     * @throws IllegalArgumentException if the value is neither active nor returned
+     */
+    public static LoanStatus fromParameter(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Loan status must be 'active' or 'returned'");
+        }
+    }
+}
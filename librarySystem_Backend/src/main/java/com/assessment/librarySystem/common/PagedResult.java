@@ -0,0 +1,11 @@
+package com.assessment.librarySystem.common;
+
+import java.util.List;
+
+/**
+ * One page of results together with the total number of matches
+ */
+public record PagedResult<T>(
+    List<T> items,
+    long total
+) {}
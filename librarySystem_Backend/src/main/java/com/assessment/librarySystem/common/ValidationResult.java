@@ -18,6 +18,32 @@ public sealed interface ValidationResult
      */
     record Invalid(List<String> errors) implements ValidationResult {}
     
+    /**
+     * Shared valid result; Valid carries no state, so there is no need to allocate one per check
+     */
+    Valid VALID = new Valid();
+    
+    /**
+     * The shared valid result
+     */
+    static ValidationResult valid() {
+        return VALID;
+    }
+    
+    /**
+     * An invalid result with the given errors
+     */
+    static ValidationResult invalid(List<String> errors) {
+        return new Invalid(List.copyOf(errors));
+    }
+    
+    /**
+     * An invalid result with a single error
+     */
+    static ValidationResult invalid(String error) {
+        return new Invalid(List.of(error));
+    }
+    
     /**
      * Check if validation passed
      */
@@ -41,4 +67,11 @@ public sealed interface ValidationResult
         }
         return List.of();
     }
+    
+    /**
+     * All errors joined into one message, or null if valid
+     */
+    default String getErrorMessage() {
+        return isValid() ? null : String.join("; ", getErrors());
+    }
 }
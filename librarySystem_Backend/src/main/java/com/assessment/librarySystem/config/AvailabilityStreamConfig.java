@@ -0,0 +1,12 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds library.availability.stream in application.yml for the availability streams
+ */
+@Configuration
+@EnableConfigurationProperties(AvailabilityStreamProperties.class)
+public class AvailabilityStreamConfig {
+}
@@ -0,0 +1,15 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Availability stream settings (library.availability.stream.*), see AvailabilityStreamService
+ */
+@ConfigurationProperties(prefix = "library.availability.stream")
+public record AvailabilityStreamProperties(
+    int maxSubscribers,
+    int maxBooksPerSubscription,
+    Duration timeout
+) {}
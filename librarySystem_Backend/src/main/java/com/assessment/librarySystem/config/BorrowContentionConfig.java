@@ -0,0 +1,24 @@
+package com.assessment.librarySystem.config;
+
+import com.assessment.librarySystem.service.impl.StripedBookLocks;
+import com.assessment.librarySystem.service.interfaces.BookLocks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Per-book locks that serialize borrows of the same title, see library.borrow.contention in application.yml
+ */
+@Configuration
+@EnableConfigurationProperties(BorrowContentionProperties.class)
+public class BorrowContentionConfig {
+    
+    @Bean
+    public BookLocks bookLocks(BorrowContentionProperties properties, PlatformTransactionManager transactionManager,
+                               JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        return new StripedBookLocks(properties, transactionManager, jdbcTemplate, meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-book locking in front of borrows (library.borrow.contention.*), see BookLocks
+ */
+@ConfigurationProperties(prefix = "library.borrow.contention")
+public record BorrowContentionProperties(
+    Mode mode,
+    int stripes,
+    Duration maxWait
+) {
+    
+    public enum Mode {
+        /** In-process locks only; for a single instance */
+        LOCAL,
+        /** In-process locks plus a PostgreSQL transaction-level advisory lock per book, for several instances */
+        ADVISORY
+    }
+}
@@ -0,0 +1,80 @@
+package com.assessment.librarySystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC pools for the JPA services, built from the usual spring.datasource.* properties.
+ * Spring Boot stops auto-configuring a DataSource once an R2DBC ConnectionFactory exists, so with the
+ * reactive v2 catalog reads in place the pool has to be declared here.
+ * <p>
+ * When library.datasource.replica.url is set, read-only transactions ({@code @Transactional(readOnly = true)})
+ * are served from a second pool on the replica, and fall back to the primary while the replica lags or is down.
+ * Both pools publish hikaricp.* meters, tagged pool=primary and pool=replica.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+    
+    public static final String PRIMARY_POOL = "primary";
+    public static final String REPLICA_POOL = "replica";
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY_POOL);
+        return dataSource;
+    }
+    
+    @Configuration
+    @ConditionalOnProperty(prefix = "library.datasource.replica", name = "url")
+    @EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+    static class ReplicaRoutingConfig {
+        
+        @Bean
+        @ConfigurationProperties("library.datasource.replica.hikari")
+        public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .build();
+            dataSource.setPoolName(REPLICA_POOL);
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+        
+        @Bean
+        public ReplicaHealthMonitor replicaHealthMonitor(HikariDataSource replicaDataSource,
+                                                         ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+            return new ReplicaHealthMonitor(replicaDataSource, properties, meterRegistry);
+        }
+        
+        /**
+         * The DataSource JPA, Flyway and JdbcTemplate use. Connections are fetched lazily, on the first statement,
+         * by which time the transaction manager has marked them read-only; read-only ones then come from the replica.
+         */
+        @Bean
+        @Primary
+        public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                     ReplicaHealthMonitor replicaHealthMonitor, MeterRegistry meterRegistry) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+            dataSource.setReadOnlyDataSource(
+                new ReplicaFallbackDataSource(replicaDataSource, primaryDataSource, replicaHealthMonitor, meterRegistry));
+            return dataSource;
+        }
+    }
+}
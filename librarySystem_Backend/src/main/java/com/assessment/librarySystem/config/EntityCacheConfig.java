@@ -0,0 +1,68 @@
+package com.assessment.librarySystem.config;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Opt-in Hibernate second-level cache for {@link Book} and {@link Borrower} (library.cache.enabled=true).
+ * Regions are Caffeine caches behind JCache, bounded in size and TTL, and their hit/miss/eviction
+ * counts are published as cache.* meters through Actuator.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "library.cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        // A manager per application context, so test contexts never share (or close) each other's regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("library-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(Book.CACHE_REGION, regionConfiguration(properties.books()));
+        cacheManager.createCache(Borrower.CACHE_REGION, regionConfiguration(properties.borrowers()));
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            // Regions are created above; a missing one is a mapping mistake, not something to paper over
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+    
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> List.of(Book.CACHE_REGION, Borrower.CACHE_REGION)
+            .forEach(region -> JCacheMetrics.monitor(registry, entityCacheManager.getCache(region)));
+    }
+    
+    private CaffeineConfiguration<Object, Object> regionConfiguration(EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.maxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,21 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the Hibernate second-level cache regions (library.cache.*)
+ */
+@ConfigurationProperties(prefix = "library.cache")
+public record EntityCacheProperties(
+    boolean enabled,
+    Region books,
+    Region borrowers
+) {
+    
+    /**
+     * Per-region limits: entries kept per pod and how long an entry may be served before it is reloaded
+     */
+    public record Region(long maxSize, Duration ttl) {}
+}
@@ -0,0 +1,12 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds library.holds in application.yml for the hold queue
+ */
+@Configuration
+@EnableConfigurationProperties(HoldProperties.class)
+public class HoldConfig {
+}
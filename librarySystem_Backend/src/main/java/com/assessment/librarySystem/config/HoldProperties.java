@@ -0,0 +1,13 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hold queue settings (library.holds.*), see HoldService
+ */
+@ConfigurationProperties(prefix = "library.holds")
+public record HoldProperties(
+    Duration pickupWindow
+) {}
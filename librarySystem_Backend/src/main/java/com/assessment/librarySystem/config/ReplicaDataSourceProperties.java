@@ -0,0 +1,18 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica for read-only transactions (library.datasource.replica.*); routing is off while url is unset.
+ * Pool settings are bound separately from library.datasource.replica.hikari.
+ */
+@ConfigurationProperties(prefix = "library.datasource.replica")
+public record ReplicaDataSourceProperties(
+    String url,
+    String username,
+    String password,
+    Duration maxLag,
+    String lagQuery
+) {}
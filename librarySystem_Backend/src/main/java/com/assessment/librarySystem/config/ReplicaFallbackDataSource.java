@@ -0,0 +1,54 @@
+package com.assessment.librarySystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connections for read-only transactions: taken from the replica pool while {@link ReplicaHealthMonitor} considers it
+ * healthy, otherwise (or if the replica refuses a connection) from the primary.
+ * Each connection is counted in library.datasource.read-only.connections, tagged with the pool that served it.
+ */
+class ReplicaFallbackDataSource extends DelegatingDataSource {
+    
+    static final String READ_ONLY_CONNECTIONS_METRIC = "library.datasource.read-only.connections";
+    
+    private final DataSource primary;
+    private final ReplicaHealthMonitor replicaHealth;
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    
+    ReplicaFallbackDataSource(DataSource replica, DataSource primary, ReplicaHealthMonitor replicaHealth,
+                              MeterRegistry meterRegistry) {
+        super(replica);
+        this.primary = primary;
+        this.replicaHealth = replicaHealth;
+        this.replicaConnections = meterRegistry.counter(READ_ONLY_CONNECTIONS_METRIC, "pool", "replica");
+        this.primaryConnections = meterRegistry.counter(READ_ONLY_CONNECTIONS_METRIC, "pool", "primary");
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaHealth.isAvailable()) {
+            try {
+                Connection connection = obtainTargetDataSource().getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaHealth.markUnavailable(e);
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // The replica pool is only set up with its own credentials; explicit ones are the primary's to accept or refuse
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,81 @@
+package com.assessment.librarySystem.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracks whether the read replica may serve read-only transactions: it must answer the lag query,
+ * and report no more replication lag than library.datasource.replica.max-lag.
+ * Publishes library.datasource.replica.lag (seconds) and library.datasource.replica.available (1 or 0).
+ */
+public class ReplicaHealthMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+    
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private volatile boolean available = true;
+    private volatile double lagSeconds;
+    
+    public ReplicaHealthMonitor(DataSource replicaDataSource, ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = properties.lagQuery();
+        this.maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+        Gauge.builder("library.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+            .baseUnit("seconds")
+            .description("Replication lag reported by the read replica at the last check")
+            .register(meterRegistry);
+        Gauge.builder("library.datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+            .description("Whether read-only transactions are currently routed to the read replica")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Re-run the lag query; a replica that fails it or lags too far is taken out of rotation until the next check
+     */
+    @Scheduled(fixedDelayString = "${library.datasource.replica.check-interval}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            // No replay position (e.g. not in recovery) means there is nothing to catch up on
+            lagSeconds = lag == null ? 0 : lag;
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            return;
+        }
+        if (lagSeconds > maxLagSeconds) {
+            if (available) {
+                log.warn("Read replica is {}s behind (limit {}s); routing read-only transactions to the primary",
+                    lagSeconds, maxLagSeconds);
+            }
+            available = false;
+        } else {
+            if (!available) {
+                log.info("Read replica caught up ({}s behind); routing read-only transactions to it again", lagSeconds);
+            }
+            available = true;
+        }
+    }
+    
+    /**
+     * Take the replica out of rotation until the next successful check
+     */
+    public void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("Read replica unavailable; routing read-only transactions to the primary: {}", cause.getMessage());
+        }
+        available = false;
+    }
+    
+    public boolean isAvailable() {
+        return available;
+    }
+}
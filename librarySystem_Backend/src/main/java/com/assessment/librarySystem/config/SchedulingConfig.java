@@ -0,0 +1,12 @@
+package com.assessment.librarySystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the availability index reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
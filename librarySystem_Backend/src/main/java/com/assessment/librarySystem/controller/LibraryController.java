@@ -1,19 +1,35 @@
 package com.assessment.librarySystem.controller;
 
+import com.assessment.librarySystem.common.BulkFormat;
+import com.assessment.librarySystem.common.LoanStatus;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.dto.request.BatchLoanRequest;
 import com.assessment.librarySystem.dto.request.BookRegistrationRequest;
 import com.assessment.librarySystem.dto.request.BorrowerRegistrationRequest;
+import com.assessment.librarySystem.dto.request.HoldRequest;
+import com.assessment.librarySystem.dto.response.AvailabilityUpdate;
 import com.assessment.librarySystem.dto.response.BookResponse;
 import com.assessment.librarySystem.dto.response.BorrowOperationResponse;
 import com.assessment.librarySystem.dto.response.BorrowerResponse;
+import com.assessment.librarySystem.dto.response.BulkItemResult;
+import com.assessment.librarySystem.dto.response.BulkOperationResponse;
+import com.assessment.librarySystem.dto.response.HoldResponse;
+import com.assessment.librarySystem.dto.response.LoanResponse;
 import com.assessment.librarySystem.mapper.BookMapper;
 import com.assessment.librarySystem.mapper.BorrowRecordMapper;
 import com.assessment.librarySystem.mapper.BorrowerMapper;
 import com.assessment.librarySystem.model.Book;
 import com.assessment.librarySystem.model.BorrowRecord;
 import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.service.interfaces.AvailabilityStreamService;
 import com.assessment.librarySystem.service.interfaces.BookService;
 import com.assessment.librarySystem.service.interfaces.BorrowService;
 import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.BulkRegistrationService;
+import com.assessment.librarySystem.service.interfaces.HoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,10 +40,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Main controller for the Library Management System API
@@ -38,6 +62,12 @@ import java.util.List;
 @Tag(name = "Library Management", description = "API for managing library books and borrowers")
 public class LibraryController {
     
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
     @Autowired
     private BorrowerService borrowerService;
     
@@ -47,6 +77,15 @@ public class LibraryController {
     @Autowired
     private BorrowService borrowService;
     
+    @Autowired
+    private HoldService holdService;
+    
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+    
+    @Autowired
+    private BulkRegistrationService bulkRegistrationService;
+    
     @Autowired
     private BorrowerMapper borrowerMapper;
     
@@ -56,6 +95,9 @@ public class LibraryController {
     @Autowired
     private BorrowRecordMapper borrowRecordMapper;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Register a new borrower
      * POST /api/library/borrowers
@@ -74,6 +116,78 @@ public class LibraryController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    /**
+     * Get one borrower
+     * GET /api/library/borrowers/{borrowerId}
+     */
+    @Operation(summary = "Get a borrower", description = "Returns a borrower's details")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Borrower found",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BorrowerResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No borrower with this ID")
+    })
+    @GetMapping("/borrowers/{borrowerId}")
+    public ResponseEntity<BorrowerResponse> getBorrower(
+            @Parameter(description = "ID of the borrower") @PathVariable Long borrowerId) {
+        return ResponseEntity.of(borrowerService.getBorrowerSummary(borrowerId));
+    }
+    
+    /**
+     * Get one keyset page of a borrower's loans, newest first
+     * GET /api/library/borrowers/{borrowerId}/loans?status={active|returned}&after={recordId}&limit={n}
+     */
+    @Operation(summary = "Get a borrower's loans",
+            description = "Returns the borrower's loans, newest first, optionally only the active or only the returned ones. "
+                    + "When the page is full, the borrow record ID to pass as 'after' for the next page is returned in the "
+                    + NEXT_CURSOR_HEADER + " header")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Loans retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoanResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Borrower not found, unknown status or invalid page limit")
+    })
+    @GetMapping("/borrowers/{borrowerId}/loans")
+    public ResponseEntity<List<LoanResponse>> getBorrowerLoans(
+            @Parameter(description = "ID of the borrower") @PathVariable Long borrowerId,
+            @Parameter(description = "'active' or 'returned'; both when omitted") @RequestParam(required = false) String status,
+            @Parameter(description = "Return loans that come after this borrow record") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of loans to return") @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        List<LoanResponse> response = borrowService.getLoans(borrowerId, LoanStatus.fromParameter(status), after, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.size() == limit) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(response.get(response.size() - 1).borrowRecordId()));
+        }
+        return builder.body(response);
+    }
+    
+    /**
+     * Register many borrowers in one request
+     * POST /api/library/borrowers/bulk
+     */
+    @Operation(summary = "Register borrowers in bulk",
+            description = "Imports a JSON array, newline-delimited JSON or CSV (header: name,email) of borrowers. "
+                    + "Rows are validated like single registrations and written in chunks of " + BulkRegistrationService.CHUNK_SIZE
+                    + "; repeated or already registered emails are reported per row. At most "
+                    + BulkRegistrationService.MAX_ROWS + " rows per request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed; see per-row results",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed payload, or more rows than allowed")
+    })
+    @PostMapping(value = "/borrowers/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_MEDIA_TYPE})
+    public ResponseEntity<BulkOperationResponse<BorrowerResponse>> registerBorrowersBulk(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkRegistrationService.registerBorrowers(body, BulkFormat.JSON));
+    }
+    
+    /**
+     * Register many borrowers from a CSV upload
+     * POST /api/library/borrowers/bulk (Content-Type: text/csv)
+     */
+    @Operation(summary = "Register borrowers in bulk from CSV", description = "CSV variant of the bulk import")
+    @PostMapping(value = "/borrowers/bulk", consumes = CSV_MEDIA_TYPE)
+    public ResponseEntity<BulkOperationResponse<BorrowerResponse>> registerBorrowersBulkCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkRegistrationService.registerBorrowers(body, BulkFormat.CSV));
+    }
+    
     /**
      * Register a new book
      * POST /api/library/books
@@ -93,19 +207,128 @@ public class LibraryController {
     }
     
     /**
-     * Get a list of all books
-     * GET /api/library/books
+     * Register many books in one request
+     * POST /api/library/books/bulk
+     */
+    @Operation(summary = "Register books in bulk",
+            description = "Imports a JSON array, newline-delimited JSON or CSV (header: isbn,title,author) of books. "
+                    + "Rows are validated like single registrations and written in chunks of " + BulkRegistrationService.CHUNK_SIZE
+                    + "; the response reports the outcome of every row. At most " + BulkRegistrationService.MAX_ROWS
+                    + " rows per request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed; see per-row results",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed payload, or more rows than allowed")
+    })
+    @PostMapping(value = "/books/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_MEDIA_TYPE})
+    public ResponseEntity<BulkOperationResponse<BookResponse>> registerBooksBulk(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkRegistrationService.registerBooks(body, BulkFormat.JSON));
+    }
+    
+    /**
+     * Register many books from a CSV upload
+     * POST /api/library/books/bulk (Content-Type: text/csv)
+     */
+    @Operation(summary = "Register books in bulk from CSV", description = "CSV variant of the bulk import")
+    @PostMapping(value = "/books/bulk", consumes = CSV_MEDIA_TYPE)
+    public ResponseEntity<BulkOperationResponse<BookResponse>> registerBooksBulkCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkRegistrationService.registerBooks(body, BulkFormat.CSV));
+    }
+    
+    /**
+     * Get one keyset page of the books, the first page when no cursor is given
+     * GET /api/library/books?after={id}&limit={n}
      */
-    @Operation(summary = "Get all books", description = "Retrieves a list of all books in the library")
+    @Operation(summary = "Get books",
+            description = "Retrieves the books in the library one keyset page at a time, " + DEFAULT_PAGE_SIZE
+                    + " per page unless 'limit' says otherwise. When the page is full, the ID to pass as 'after' for "
+                    + "the next page is returned in the " + NEXT_CURSOR_HEADER + " header. Clients that need the whole "
+                    + "catalog in one response should request it as " + NDJSON_MEDIA_TYPE)
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class)))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page limit")
     })
     @GetMapping("/books")
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
-        List<Book> books = bookService.getAllBooks();
-        List<BookResponse> response = bookMapper.toResponseList(books);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<BookResponse>> getAllBooks(
+            @Parameter(description = "Return books with an ID greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of books to return") @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        List<BookResponse> response = bookService.getCatalogPage(after, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.size() == limit) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(response.get(response.size() - 1).id()));
+        }
+        return builder.body(response);
+    }
+    
+    /**
+     * Get one book
+     * GET /api/library/books/{bookId}
+     */
+    @Operation(summary = "Get a book", description = "Returns a book with its current availability")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Book found",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No book with this ID")
+    })
+    @GetMapping("/books/{bookId}")
+    public ResponseEntity<BookResponse> getBook(
+            @Parameter(description = "ID of the book") @PathVariable Long bookId) {
+        return ResponseEntity.of(bookService.getCatalogEntry(bookId));
+    }
+    
+    /**
+     * Search books by title and author
+     * GET /api/library/books/search?q={text}&offset={n}&limit={n}
+     */
+    @Operation(summary = "Search books",
+            description = "Full-text search over titles and authors. Every term must match, either whole or as a word "
+                    + "prefix; results are ranked with title matches first. The total number of matches is returned in the "
+                    + TOTAL_COUNT_HEADER + " header")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Blank or too long query, or invalid offset/limit")
+    })
+    @GetMapping("/books/search")
+    public ResponseEntity<List<BookResponse>> searchBooks(
+            @Parameter(description = "Words to look for in the title or author") @RequestParam String q,
+            @Parameter(description = "Number of ranked results to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of books to return") @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        PagedResult<BookResponse> result = bookService.searchCatalog(q, offset, limit);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.total()))
+                .body(result.items());
+    }
+    
+    /**
+     * Stream all books as newline-delimited JSON
+     * GET /api/library/books (Accept: application/x-ndjson)
+     */
+    @Operation(summary = "Stream all books",
+            description = "Streams every book as newline-delimited JSON without buffering the catalog in memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Books streamed successfully",
+                content = @Content(mediaType = NDJSON_MEDIA_TYPE, schema = @Schema(implementation = BookResponse.class)))
+    })
+    @GetMapping(value = "/books", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                bookService.forEachCatalogEntry(book -> {
+                    try {
+                        writer.write(book);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
     }
     
     /**
@@ -147,4 +370,106 @@ public class LibraryController {
         BorrowOperationResponse response = borrowRecordMapper.toReturnOperationResponse(borrowRecord);
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * Borrow several books for one borrower (self-checkout)
+     * POST /api/library/borrow/batch
+     */
+    @Operation(summary = "Borrow books in a batch",
+            description = "Borrows up to 100 books for one borrower in a single transaction and reports the outcome per book")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see per-book results",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request or borrower not found")
+    })
+    @PostMapping("/borrow/batch")
+    public ResponseEntity<BulkOperationResponse<BorrowOperationResponse>> borrowBooks(@Valid @RequestBody BatchLoanRequest request) {
+        List<OperationResult<BorrowRecord>> results = borrowService.borrowBooks(request.borrowerId(), request.bookIds());
+        return ResponseEntity.ok(toBulkResponse(results, borrowRecordMapper::toBorrowOperationResponse));
+    }
+    
+    /**
+     * Return several books for one borrower
+     * POST /api/library/return/batch
+     */
+    @Operation(summary = "Return books in a batch",
+            description = "Returns up to 100 books for one borrower in a single transaction and reports the outcome per book")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see per-book results",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request or borrower not found")
+    })
+    @PostMapping("/return/batch")
+    public ResponseEntity<BulkOperationResponse<BorrowOperationResponse>> returnBooks(@Valid @RequestBody BatchLoanRequest request) {
+        List<OperationResult<BorrowRecord>> results = borrowService.returnBooks(request.borrowerId(), request.bookIds());
+        return ResponseEntity.ok(toBulkResponse(results, borrowRecordMapper::toReturnOperationResponse));
+    }
+    
+    /**
+     * Place a hold on a book that is out
+     * POST /api/library/books/{bookId}/holds
+     */
+    @Operation(summary = "Place a hold",
+            description = "Joins the queue for a book that is on loan or kept for another hold. When the book is returned "
+                    + "it is kept for the first borrower in the queue, who then borrows it as usual; nobody else can until "
+                    + "their hold expires")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Hold placed",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid borrower or book ID"),
+        @ApiResponse(responseCode = "409", description = "Book is free to borrow, or the borrower already has it or a hold on it")
+    })
+    @PostMapping("/books/{bookId}/holds")
+    public ResponseEntity<HoldResponse> placeHold(
+            @Parameter(description = "ID of the book to hold") @PathVariable Long bookId,
+            @Valid @RequestBody HoldRequest request) {
+        HoldResponse response = holdService.placeHold(bookId, request.borrowerId());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
+    /**
+     * Watch one book's availability
+     * GET /api/library/books/{bookId}/availability/stream
+     */
+    @Operation(summary = "Watch a book's availability",
+            description = "Server-sent events: an '" + AvailabilityStreamService.AVAILABILITY_EVENT + "' event with the "
+                    + "book's current availability, then one each time it is borrowed, returned or kept for a hold. "
+                    + "The stream ends after a while; EventSource clients reconnect on their own")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened",
+                content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = AvailabilityUpdate.class))),
+        @ApiResponse(responseCode = "400", description = "No book with this ID"),
+        @ApiResponse(responseCode = "409", description = "Too many streams are open; try again later")
+    })
+    @GetMapping(value = "/books/{bookId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @Parameter(description = "ID of the book to watch") @PathVariable Long bookId) {
+        return availabilityStreamService.subscribe(List.of(bookId));
+    }
+    
+    /**
+     * Watch several books' availability on one stream
+     * GET /api/library/books/availability/stream?bookIds={id},{id}
+     */
+    @Operation(summary = "Watch several books' availability",
+            description = "As the single-book stream, with the updates for all the given books on one connection")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened",
+                content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = AvailabilityUpdate.class))),
+        @ApiResponse(responseCode = "400", description = "No book IDs, too many, or an unknown one"),
+        @ApiResponse(responseCode = "409", description = "Too many streams are open; try again later")
+    })
+    @GetMapping(value = "/books/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailabilities(
+            @Parameter(description = "IDs of the books to watch, comma separated") @RequestParam List<Long> bookIds) {
+        return availabilityStreamService.subscribe(bookIds);
+    }
+    
+    private <E, D> BulkOperationResponse<D> toBulkResponse(List<OperationResult<E>> results, Function<E, D> toResponse) {
+        List<BulkItemResult<D>> items = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            items.add(BulkItemResult.from(i, results.get(i), toResponse));
+        }
+        return BulkOperationResponse.of(items);
+    }
 }
@@ -0,0 +1,114 @@
+package com.assessment.librarySystem.controller;
+
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.service.interfaces.ReactiveCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.assessment.librarySystem.controller.LibraryController.NDJSON_MEDIA_TYPE;
+
+/**
+ * Read-only catalog API served from R2DBC.
+ * Handlers return Reactor types, so the request thread is released while the database works; with
+ * Accept: application/x-ndjson books are written one by one as the client reads them (backpressure).
+ */
+@RestController
+@RequestMapping("/api/v2/library")
+@Tag(name = "Catalog (reactive)", description = "Non-blocking, read-only access to the library catalog")
+public class ReactiveCatalogController {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    public ReactiveCatalogController(ReactiveCatalogService reactiveCatalogService) {
+        this.reactiveCatalogService = reactiveCatalogService;
+    }
+
+    /**
+     * Get a page of books in ID order, starting after a keyset cursor
+     * GET /api/v2/library/books?after={id}&limit={n}
+     */
+    @Operation(summary = "Get books",
+            description = "Returns up to 'limit' books with an ID greater than 'after'. The whole array is built before it is "
+                    + "written, so it is always one page; use Accept: application/x-ndjson to stream the rest of the catalog")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page limit")
+    })
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<BookResponse> getBooks(
+            @Parameter(description = "Return books with an ID greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of books to return") @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return reactiveCatalogService.getCatalog(after, limit);
+    }
+
+    /**
+     * Stream books as newline-delimited JSON
+     * GET /api/v2/library/books?after={id}&limit={n} (Accept: application/x-ndjson)
+     */
+    @Operation(summary = "Stream books",
+            description = "Streams books with an ID greater than 'after' as newline-delimited JSON. Rows are read from the "
+                    + "database only as fast as the client consumes them, so the catalog is never buffered")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Books streamed successfully",
+                content = @Content(mediaType = NDJSON_MEDIA_TYPE, schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page limit")
+    })
+    @GetMapping(value = "/books", produces = NDJSON_MEDIA_TYPE)
+    public Flux<BookResponse> streamBooks(
+            @Parameter(description = "Return books with an ID greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of books to return; every remaining book when omitted")
+            @RequestParam(required = false) Integer limit) {
+        return reactiveCatalogService.getCatalog(after, limit);
+    }
+
+    /**
+     * Get one book
+     * GET /api/v2/library/books/{bookId}
+     */
+    @Operation(summary = "Get a book", description = "Returns a book with its current availability")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Book found",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No book with this ID")
+    })
+    @GetMapping("/books/{bookId}")
+    public Mono<ResponseEntity<BookResponse>> getBook(
+            @Parameter(description = "ID of the book") @PathVariable Long bookId) {
+        return reactiveCatalogService.getBook(bookId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Search books by title and author
+     * GET /api/v2/library/books/search?q={text}&offset={n}&limit={n}
+     */
+    @Operation(summary = "Search books",
+            description = "Full-text search over titles and authors with the same matching and ranking as "
+                    + "/api/library/books/search")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Blank or too long query, or invalid offset/limit")
+    })
+    @GetMapping("/books/search")
+    public Flux<BookResponse> searchBooks(
+            @Parameter(description = "Words to look for in the title or author") @RequestParam String q,
+            @Parameter(description = "Number of ranked results to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of books to return") @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return reactiveCatalogService.searchCatalog(q, offset, limit);
+    }
+}
@@ -0,0 +1,19 @@
+package com.assessment.librarySystem.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for borrowing or returning several books for one borrower at once
+ */
+public record BatchLoanRequest(
+    @NotNull(message = "Borrower ID is required")
+    Long borrowerId,
+    
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = 100, message = "At most 100 books can be processed per batch")
+    List<@NotNull(message = "Book IDs cannot be null") Long> bookIds
+) {}
@@ -0,0 +1,11 @@
+package com.assessment.librarySystem.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for placing a hold on a book
+ */
+public record HoldRequest(
+    @NotNull(message = "Borrower ID is required")
+    Long borrowerId
+) {}
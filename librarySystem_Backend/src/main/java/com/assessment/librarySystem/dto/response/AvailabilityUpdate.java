@@ -0,0 +1,10 @@
+package com.assessment.librarySystem.dto.response;
+
+/**
+ * Availability of one book as sent on an availability stream. Deliberately carries no borrower details:
+ * a book kept for someone's hold is simply not available.
+ */
+public record AvailabilityUpdate(
+    Long bookId,
+    boolean isAvailable
+) {}
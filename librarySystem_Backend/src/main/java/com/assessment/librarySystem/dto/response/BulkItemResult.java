@@ -0,0 +1,30 @@
+package com.assessment.librarySystem.dto.response;
+
+import com.assessment.librarySystem.common.OperationResult;
+
+import java.util.function.Function;
+
+/**
+ * Response DTO for the outcome of a single item in a bulk operation
+ */
+public record BulkItemResult<T>(
+    int index,
+    boolean success,
+    T data,
+    String message,
+    String errorCode
+) {
+    public static <T> BulkItemResult<T> failure(int index, String message, String errorCode) {
+        return new BulkItemResult<>(index, false, null, message, errorCode);
+    }
+    
+    /**
+     * Convert a service-level operation result, mapping successful data with the given mapper
+     */
+    public static <E, T> BulkItemResult<T> from(int index, OperationResult<E> result, Function<E, T> mapper) {
+        if (result instanceof OperationResult.Failure<E> failure) {
+            return failure(index, failure.error(), failure.code());
+        }
+        return new BulkItemResult<>(index, true, mapper.apply(result.getData()), result.getMessage(), null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.assessment.librarySystem.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for bulk operations: totals plus one result per submitted item, in submission order
+ */
+public record BulkOperationResponse<T>(
+    int total,
+    int succeeded,
+    int failed,
+    List<BulkItemResult<T>> results
+) {
+    public static <T> BulkOperationResponse<T> of(List<BulkItemResult<T>> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::success).count();
+        return new BulkOperationResponse<>(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,17 @@
+package com.assessment.librarySystem.dto.response;
+
+import com.assessment.librarySystem.model.HoldStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a hold; position is 1 for the borrower next in line when the book comes back
+ */
+public record HoldResponse(
+    Long holdId,
+    Long bookId,
+    Long borrowerId,
+    HoldStatus status,
+    long position,
+    LocalDateTime createdAt
+) {}
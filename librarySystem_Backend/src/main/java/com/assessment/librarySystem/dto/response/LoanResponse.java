@@ -0,0 +1,16 @@
+package com.assessment.librarySystem.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one entry of a borrower's loan history; returnDate is null while the loan is active
+ */
+public record LoanResponse(
+    Long borrowRecordId,
+    Long bookId,
+    String isbn,
+    String bookTitle,
+    String bookAuthor,
+    LocalDateTime borrowDate,
+    LocalDateTime returnDate
+) {}
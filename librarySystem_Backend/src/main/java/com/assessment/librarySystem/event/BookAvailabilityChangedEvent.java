@@ -0,0 +1,20 @@
+package com.assessment.librarySystem.event;
+
+import com.assessment.librarySystem.common.BookStatus;
+
+/**
+ * Published when a borrow, a return or a hold changes whether a book can be borrowed, with the book's new status.
+ * Listeners that must only see committed state use {@code @TransactionalEventListener}.
+ */
+public record BookAvailabilityChangedEvent(
+    Long bookId,
+    BookStatus status
+) {
+    
+    /**
+     * Whether anyone may now borrow the book; false while it is on loan or kept for a borrower
+     */
+    public boolean available() {
+        return status.isAvailable();
+    }
+}
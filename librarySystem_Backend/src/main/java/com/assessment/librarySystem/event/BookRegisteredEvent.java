@@ -0,0 +1,11 @@
+package com.assessment.librarySystem.event;
+
+/**
+ * Published for every book registered, carrying the catalog columns so listeners need no lookup
+ */
+public record BookRegisteredEvent(
+    Long bookId,
+    String isbn,
+    String title,
+    String author
+) {}
@@ -1,6 +1,12 @@
 package com.assessment.librarySystem.exception;
 
+import com.assessment.librarySystem.model.BookHold;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,7 +26,7 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.value(),
             ex.getMessage()
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return json(HttpStatus.BAD_REQUEST, errorResponse);
     }
     
     @ExceptionHandler(IllegalStateException.class)
@@ -29,6 +35,26 @@ public class GlobalExceptionHandler {
             HttpStatus.CONFLICT.value(),
             ex.getMessage()
         );
+        return json(HttpStatus.CONFLICT, errorResponse);
+    }
+    
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse<Void>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        String constraintName = findConstraintName(ex);
+        String message;
+        if (violates(constraintName, BorrowRecord.ACTIVE_LOAN_CONSTRAINT)) {
+            message = "Book is already borrowed";
+        } else if (violates(constraintName, Borrower.EMAIL_CONSTRAINT)) {
+            message = "Email already exists";
+        } else if (violates(constraintName, BookHold.OPEN_HOLD_CONSTRAINT)) {
+            message = "Borrower already has a hold on this book";
+        } else {
+            message = "Request conflicts with existing data";
+        }
+        ErrorResponse<Void> errorResponse = ErrorResponse.simple(
+            HttpStatus.CONFLICT.value(),
+            message
+        );
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
     
@@ -59,4 +85,25 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+    
+    /**
+     * Error body with its content type fixed, so it is also written for requests that only accept a stream
+     * (e.g. text/event-stream) and would otherwise fail content negotiation
+     */
+    private ResponseEntity<ErrorResponse<Void>> json(HttpStatus status, ErrorResponse<Void> errorResponse) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+    
+    private boolean violates(String constraintName, String constraint) {
+        return constraintName != null && constraintName.toLowerCase().contains(constraint);
+    }
+    
+    private String findConstraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
 }
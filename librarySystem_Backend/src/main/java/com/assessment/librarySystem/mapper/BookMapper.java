@@ -22,7 +22,9 @@ public class BookMapper implements EntityMapper<Book, BookResponse, BookRegistra
     }
     
     /**
-     * Convert Book entity to BookResponse DTO
+     * Convert Book entity to BookResponse DTO.
+     * Used for freshly registered books, which have no loans; catalog listings get
+     * availability from BookRepository's catalog projection instead.
      */
     public BookResponse toResponse(Book book) {
         return new BookResponse(
@@ -30,7 +32,7 @@ public class BookMapper implements EntityMapper<Book, BookResponse, BookRegistra
             book.getIsbn(),
             book.getTitle(),
             book.getAuthor(),
-            true // Simplified - not checking availability for GET /books endpoint
+            true
         );
     }
     
@@ -1,12 +1,19 @@
 package com.assessment.librarySystem.mapper;
 
 import com.assessment.librarySystem.dto.response.BorrowOperationResponse;
+import com.assessment.librarySystem.model.Book;
 import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 /**
  * Mapper for converting between BorrowRecord entities and DTOs.
  * Only includes methods needed for the 5 required endpoints.
+ * <p>
+ * Reads the record's borrower and book, so they should already be loaded: BorrowService fetches them
+ * with the record, and mapping usually happens after the transaction has ended.
  */
 @Component
 public class BorrowRecordMapper {
@@ -15,37 +22,30 @@ public class BorrowRecordMapper {
      * Convert BorrowRecord entity to BorrowOperationResponse DTO for borrow operation
      */
     public BorrowOperationResponse toBorrowOperationResponse(BorrowRecord borrowRecord) {
-        return new BorrowOperationResponse(
-            borrowRecord.getId(),
-            borrowRecord.getBorrower().getId(),
-            borrowRecord.getBorrower().getName(),
-            borrowRecord.getBook().getId(),
-            borrowRecord.getBook().getTitle(),
-            borrowRecord.getBook().getAuthor(),
-            borrowRecord.getBorrowDate(),
-            "BORROWED",
-            String.format("Book '%s' has been successfully borrowed by %s", 
-                borrowRecord.getBook().getTitle(), 
-                borrowRecord.getBorrower().getName())
-        );
+        return toOperationResponse(borrowRecord, borrowRecord.getBorrowDate(), "BORROWED", "borrowed");
     }
     
     /**
      * Convert BorrowRecord entity to BorrowOperationResponse DTO for return operation
      */
     public BorrowOperationResponse toReturnOperationResponse(BorrowRecord borrowRecord) {
+        return toOperationResponse(borrowRecord, borrowRecord.getReturnDate(), "RETURNED", "returned");
+    }
+    
+    private BorrowOperationResponse toOperationResponse(BorrowRecord borrowRecord, LocalDateTime operationDate,
+                                                        String operation, String verb) {
+        Borrower borrower = borrowRecord.getBorrower();
+        Book book = borrowRecord.getBook();
         return new BorrowOperationResponse(
             borrowRecord.getId(),
-            borrowRecord.getBorrower().getId(),
-            borrowRecord.getBorrower().getName(),
-            borrowRecord.getBook().getId(),
-            borrowRecord.getBook().getTitle(),
-            borrowRecord.getBook().getAuthor(),
-            borrowRecord.getReturnDate(),
-            "RETURNED",
-            String.format("Book '%s' has been successfully returned by %s", 
-                borrowRecord.getBook().getTitle(), 
-                borrowRecord.getBorrower().getName())
+            borrower.getId(),
+            borrower.getName(),
+            book.getId(),
+            book.getTitle(),
+            book.getAuthor(),
+            operationDate,
+            operation,
+            "Book '" + book.getTitle() + "' has been successfully " + verb + " by " + borrower.getName()
         );
     }
 }
@@ -3,15 +3,31 @@ package com.assessment.librarySystem.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Book.CACHE_REGION)
+@BatchSize(size = Book.FETCH_BATCH_SIZE)
+@Table(name = "books", indexes = @Index(name = "idx_books_isbn", columnList = "isbn"))
 public class Book {
     
+    /** Second-level cache region, used when library.cache.enabled=true (see EntityCacheConfig) */
+    public static final String CACHE_REGION = "books";
+    
+    /**
+     * Lazy Book proxies are initialized this many at a time, so mapping a list of borrow records
+     * costs one query per 100 records rather than one per record; matches the loan batch limit
+     */
+    public static final int FETCH_BATCH_SIZE = 100;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "ISBN is required")
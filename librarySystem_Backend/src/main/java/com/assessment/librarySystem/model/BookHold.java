@@ -0,0 +1,97 @@
+package com.assessment.librarySystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "book_holds", indexes = @Index(name = "idx_book_holds_queue", columnList = "book_id, created_at, id"))
+public class BookHold {
+    
+    /**
+     * Unique index allowing one open (waiting or ready) hold per borrower and book, see db/migration V6
+     */
+    public static final String OPEN_HOLD_CONSTRAINT = "ux_book_holds_open_borrower_book";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_holds_seq")
+    @SequenceGenerator(name = "book_holds_seq", sequenceName = "book_holds_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "borrower_id", nullable = false)
+    private Borrower borrower;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private HoldStatus status;
+    
+    /** Position in the queue; IDs come from pooled sequences and are not in arrival order across instances */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    /** When the book was set aside for the borrower; the pickup window runs from here */
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+    
+    public BookHold() {}
+    
+    public BookHold(Borrower borrower, Book book) {
+        this.borrower = borrower;
+        this.book = book;
+        this.status = HoldStatus.WAITING;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Book getBook() {
+        return book;
+    }
+    
+    public void setBook(Book book) {
+        this.book = book;
+    }
+    
+    public Borrower getBorrower() {
+        return borrower;
+    }
+    
+    public void setBorrower(Borrower borrower) {
+        this.borrower = borrower;
+    }
+    
+    public HoldStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getReadyAt() {
+        return readyAt;
+    }
+    
+    public void setReadyAt(LocalDateTime readyAt) {
+        this.readyAt = readyAt;
+    }
+}
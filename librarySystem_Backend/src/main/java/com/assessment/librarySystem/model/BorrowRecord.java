@@ -4,11 +4,20 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "borrow_records")
+@Table(name = "borrow_records", indexes = {
+    @Index(name = "idx_borrow_records_active_borrower_book", columnList = "borrower_id, book_id"),
+    @Index(name = "idx_borrow_records_borrower_history", columnList = "borrower_id, borrow_date DESC, id DESC")
+})
 public class BorrowRecord {
     
+    /**
+     * Unique index allowing at most one active (unreturned) loan per book, see db/migration V2
+     */
+    public static final String ACTIVE_LOAN_CONSTRAINT = "ux_borrow_records_active_book";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrow_records_seq")
+    @SequenceGenerator(name = "borrow_records_seq", sequenceName = "borrow_records_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -4,15 +4,31 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Borrower.CACHE_REGION)
+@BatchSize(size = Borrower.FETCH_BATCH_SIZE)
 @Table(name = "borrowers")
 public class Borrower {
     
+    /** Second-level cache region, used when library.cache.enabled=true (see EntityCacheConfig) */
+    public static final String CACHE_REGION = "borrowers";
+    
+    /** Lazy borrower proxies are initialized in batches of this size, as for {@link Book#FETCH_BATCH_SIZE} */
+    public static final int FETCH_BATCH_SIZE = 100;
+    
+    /** Name of the unique constraint on {@code email}, as created by the schema migrations */
+    public static final String EMAIL_CONSTRAINT = "uk_borrowers_email";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrowers_seq")
+    @SequenceGenerator(name = "borrowers_seq", sequenceName = "borrowers_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -0,0 +1,12 @@
+package com.assessment.librarySystem.model;
+
+/**
+ * Lifecycle of a hold: it waits in the book's queue, becomes ready when the book is returned to the
+ * borrower at the front, and ends either with them borrowing it or with the pickup window running out
+ */
+public enum HoldStatus {
+    WAITING,
+    READY,
+    FULFILLED,
+    EXPIRED
+}
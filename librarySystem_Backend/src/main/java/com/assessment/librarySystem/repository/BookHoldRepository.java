@@ -0,0 +1,80 @@
+package com.assessment.librarySystem.repository;
+
+import com.assessment.librarySystem.model.BookHold;
+import com.assessment.librarySystem.model.HoldStatus;
+import com.assessment.librarySystem.repository.projection.HoldCandidate;
+import com.assessment.librarySystem.repository.projection.ReadyHold;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookHoldRepository extends BaseRepository<BookHold, Long> {
+    
+    String WAITING = "com.assessment.librarySystem.model.HoldStatus.WAITING";
+    String READY = "com.assessment.librarySystem.model.HoldStatus.READY";
+    
+    /**
+     * Load the borrower, the book, its loan and its queue in a single round trip.
+     * Empty if either the borrower or the book does not exist.
+     */
+    @Query("SELECT new com.assessment.librarySystem.repository.projection.HoldCandidate(b, bk, " +
+           "(SELECT r.borrower.id FROM BorrowRecord r WHERE r.book = bk AND r.returnDate IS NULL), " +
+           "(SELECT h.borrower.id FROM BookHold h WHERE h.book = bk AND h.status = " + READY + "), " +
+           "CASE WHEN EXISTS (SELECT 1 FROM BookHold h WHERE h.book = bk AND h.borrower = b AND h.status = " + WAITING + ") " +
+           "THEN true ELSE false END, " +
+           "(SELECT COUNT(h) FROM BookHold h WHERE h.book = bk AND h.status = " + WAITING + ")) " +
+           "FROM Borrower b, Book bk WHERE b.id = :borrowerId AND bk.id = :bookId")
+    Optional<HoldCandidate> findHoldCandidate(@Param("borrowerId") Long borrowerId, @Param("bookId") Long bookId);
+    
+    /**
+     * The oldest waiting hold of each of the given books, with the borrower fetched
+     */
+    @Query("SELECT h FROM BookHold h JOIN FETCH h.borrower " +
+           "WHERE h.book.id IN :bookIds AND h.status = " + WAITING + " " +
+           "AND NOT EXISTS (SELECT 1 FROM BookHold e WHERE e.book = h.book AND e.status = " + WAITING + " " +
+           "AND (e.createdAt < h.createdAt OR (e.createdAt = h.createdAt AND e.id < h.id)))")
+    List<BookHold> findNextInQueue(@Param("bookIds") Collection<Long> bookIds);
+    
+    /**
+     * Close the borrower's ready holds on the given books now that they have borrowed them
+     * @return Number of holds fulfilled
+     */
+    @Modifying
+    @Query("UPDATE BookHold h SET h.status = com.assessment.librarySystem.model.HoldStatus.FULFILLED " +
+           "WHERE h.borrower.id = :borrowerId AND h.book.id IN :bookIds AND h.status = " + READY)
+    int markFulfilled(@Param("borrowerId") Long borrowerId, @Param("bookIds") Collection<Long> bookIds);
+    
+    /**
+     * Find a book's hold in the given state; at most one can be ready
+     */
+    Optional<BookHold> findFirstByBookIdAndStatus(Long bookId, HoldStatus status);
+    
+    /**
+     * Books that have been kept for a borrower since before the cutoff
+     */
+    @Query("SELECT h.book.id FROM BookHold h WHERE h.status = " + READY + " AND h.readyAt < :cutoff")
+    List<Long> findBookIdsReadySince(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Books with a queue but neither a loan nor a ready hold, e.g. because the hold was placed while
+     * the book was being returned through a batch; nothing else would ever move their queue
+     */
+    @Query("SELECT DISTINCT h.book.id FROM BookHold h WHERE h.status = " + WAITING + " " +
+           "AND NOT EXISTS (SELECT 1 FROM BorrowRecord r WHERE r.book = h.book AND r.returnDate IS NULL) " +
+           "AND NOT EXISTS (SELECT 1 FROM BookHold e WHERE e.book = h.book AND e.status = " + READY + ")")
+    List<Long> findBookIdsWithStalledQueues();
+    
+    /**
+     * Every book currently kept for a borrower, used to (re)build the availability index
+     */
+    @Query("SELECT new com.assessment.librarySystem.repository.projection.ReadyHold(h.book.id, h.borrower.id) " +
+           "FROM BookHold h WHERE h.status = " + READY)
+    List<ReadyHold> findReadyHolds();
+}
@@ -1,17 +1,46 @@
 package com.assessment.librarySystem.repository;
 
 import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import com.assessment.librarySystem.repository.projection.IsbnDetails;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends BaseRepository<Book, Long> {
     
+    /**
+     * Catalog projection: only the book columns, so a listing is a plain scan of books.
+     * Availability comes from the AvailabilityIndex rather than a join on borrow records.
+     */
+    String CATALOG_SELECT = "SELECT new com.assessment.librarySystem.repository.projection.CatalogEntry(" +
+        "b.id, b.isbn, b.title, b.author) FROM Book b";
+    
     List<Book> findByIsbn(String isbn);
     
+    /**
+     * Distinct title/author pairs registered for any of the given ISBNs, in one query
+     */
+    @Query("SELECT DISTINCT new com.assessment.librarySystem.repository.projection.IsbnDetails(b.isbn, b.title, b.author) " +
+           "FROM Book b WHERE b.isbn IN :isbns")
+    List<IsbnDetails> findIsbnDetailsByIsbnIn(@Param("isbns") Collection<String> isbns);
+    
+    /**
+     * Which of the given IDs belong to a book, checked with one query on the primary key
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
     List<Book> findByTitleContainingIgnoreCase(String title);
     
     List<Book> findByAuthorContainingIgnoreCase(String author);
@@ -20,4 +49,30 @@ public interface BookRepository extends BaseRepository<Book, Long> {
     List<Book> findByIsbnAndTitleAndAuthor(@Param("isbn") String isbn, 
                                           @Param("title") String title, 
                                           @Param("author") String author);
+    
+    /**
+     * Every book, ordered by ID
+     */
+    @Query(CATALOG_SELECT + " ORDER BY b.id")
+    List<CatalogEntry> findCatalog();
+    
+    /**
+     * Catalog columns of one book, read without loading (or snapshotting) a managed entity
+     */
+    @Query(CATALOG_SELECT + " WHERE b.id = :id")
+    Optional<CatalogEntry> findCatalogEntryById(@Param("id") Long id);
+    
+    /**
+     * Keyset page of the catalog: the next books whose ID is greater than {@code afterId}
+     */
+    @Query(CATALOG_SELECT + " WHERE b.id > :afterId ORDER BY b.id")
+    List<CatalogEntry> findCatalogAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stream the whole catalog in ID order, fetching rows from the JDBC cursor in chunks.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(CATALOG_SELECT + " ORDER BY b.id")
+    Stream<CatalogEntry> streamCatalog();
 }
@@ -1,20 +1,130 @@
 package com.assessment.librarySystem.repository;
 
+import com.assessment.librarySystem.dto.response.LoanResponse;
 import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.repository.projection.BookAvailability;
+import com.assessment.librarySystem.repository.projection.BorrowCandidate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BorrowRecordRepository extends BaseRepository<BorrowRecord, Long> {
     
     /**
-     * Find active borrow record by borrower and book IDs
+     * A borrower's loans, newest first, as read-only rows joined with their book; served by
+     * idx_borrow_records_borrower_history (V5), so a page costs the same however long the history is.
+     * Each status filter is its own query, so the planner sees a plain predicate it can match to an index
+     * (active loans: idx_borrow_records_active_history, V7).
      */
+    String LOAN_SELECT = "SELECT new com.assessment.librarySystem.dto.response.LoanResponse(" +
+        "r.id, b.id, b.isbn, b.title, b.author, r.borrowDate, r.returnDate) " +
+        "FROM BorrowRecord r JOIN r.book b " +
+        "WHERE r.borrower.id = :borrowerId";
+    
+    String ACTIVE_LOANS = " AND r.returnDate IS NULL";
+    
+    String RETURNED_LOANS = " AND r.returnDate IS NOT NULL";
+    
+    /**
+     * Loans that sort after the cursor record, as one row-value comparison so the index is entered at the cursor.
+     * Matches nothing if the cursor record does not exist or belongs to someone else.
+     */
+    String AFTER_CURSOR = " AND (r.borrowDate, r.id) < (" +
+        "(SELECT c.borrowDate FROM BorrowRecord c WHERE c.id = :afterId AND c.borrower.id = :borrowerId), :afterId)";
+    
+    String LOAN_ORDER = " ORDER BY r.borrowDate DESC, r.id DESC";
+    
+    /**
+     * Who a book is being kept for by a ready hold, as a subquery on the book alias bk
+     */
+    String RESERVED_FOR = "(SELECT h.borrower.id FROM BookHold h WHERE h.book = bk AND h.status = " +
+        BookHoldRepository.READY + ")";
+    
+    /**
+     * Find active borrow record by borrower and book IDs, with borrower and book fetched for the response
+     */
+    @EntityGraph(attributePaths = {"borrower", "book"})
     Optional<BorrowRecord> findByBorrowerIdAndBookIdAndReturnDateIsNull(Long borrowerId, Long bookId);
     
     /**
      * Find active borrow record by book ID
      */
     Optional<BorrowRecord> findByBookIdAndReturnDateIsNull(Long bookId);
+    
+    /**
+     * Load the borrower, the book and the book's availability in a single round trip.
+     * Empty if either the borrower or the book does not exist.
+     */
+    @Query("SELECT new com.assessment.librarySystem.repository.projection.BorrowCandidate(b, bk, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM BorrowRecord r WHERE r.book = bk AND r.returnDate IS NULL) " +
+           "THEN false ELSE true END, " + RESERVED_FOR + ") " +
+           "FROM Borrower b, Book bk WHERE b.id = :borrowerId AND bk.id = :bookId")
+    Optional<BorrowCandidate> findBorrowCandidate(@Param("borrowerId") Long borrowerId, @Param("bookId") Long bookId);
+    
+    /**
+     * Load the given books with their availability in one query; ids that do not exist are simply absent
+     */
+    @Query("SELECT new com.assessment.librarySystem.repository.projection.BookAvailability(bk, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM BorrowRecord r WHERE r.book = bk AND r.returnDate IS NULL) " +
+           "THEN false ELSE true END, " + RESERVED_FOR + ") " +
+           "FROM Book bk WHERE bk.id IN :bookIds")
+    List<BookAvailability> findBookAvailability(@Param("bookIds") Collection<Long> bookIds);
+    
+    /**
+     * A borrower's active loans for any of the given books, with borrower and book fetched for the response
+     */
+    @Query("SELECT r FROM BorrowRecord r JOIN FETCH r.borrower JOIN FETCH r.book " +
+           "WHERE r.borrower.id = :borrowerId AND r.book.id IN :bookIds AND r.returnDate IS NULL")
+    List<BorrowRecord> findActiveLoans(@Param("borrowerId") Long borrowerId, @Param("bookIds") Collection<Long> bookIds);
+    
+    /**
+     * IDs of every book with an active loan, used to (re)build the availability index
+     */
+    @Query("SELECT r.book.id FROM BorrowRecord r WHERE r.returnDate IS NULL")
+    List<Long> findBookIdsOnLoan();
+    
+    /**
+     * First page of a borrower's loan history
+     */
+    @Query(LOAN_SELECT + LOAN_ORDER)
+    List<LoanResponse> findLoans(@Param("borrowerId") Long borrowerId, Limit limit);
+    
+    /**
+     * Next page of a borrower's loan history: the loans that sort after the given record of theirs
+     */
+    @Query(LOAN_SELECT + AFTER_CURSOR + LOAN_ORDER)
+    List<LoanResponse> findLoansAfter(@Param("borrowerId") Long borrowerId, @Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * First page of a borrower's loans not yet returned
+     */
+    @Query(LOAN_SELECT + ACTIVE_LOANS + LOAN_ORDER)
+    List<LoanResponse> findUnreturnedLoans(@Param("borrowerId") Long borrowerId, Limit limit);
+    
+    /**
+     * Next page of a borrower's loans not yet returned
+     */
+    @Query(LOAN_SELECT + ACTIVE_LOANS + AFTER_CURSOR + LOAN_ORDER)
+    List<LoanResponse> findUnreturnedLoansAfter(@Param("borrowerId") Long borrowerId, @Param("afterId") Long afterId,
+                                                Limit limit);
+    
+    /**
+     * First page of a borrower's returned loans
+     */
+    @Query(LOAN_SELECT + RETURNED_LOANS + LOAN_ORDER)
+    List<LoanResponse> findReturnedLoans(@Param("borrowerId") Long borrowerId, Limit limit);
+    
+    /**
+     * Next page of a borrower's returned loans
+     */
+    @Query(LOAN_SELECT + RETURNED_LOANS + AFTER_CURSOR + LOAN_ORDER)
+    List<LoanResponse> findReturnedLoansAfter(@Param("borrowerId") Long borrowerId, @Param("afterId") Long afterId,
+                                              Limit limit);
 }
@@ -1,8 +1,13 @@
 package com.assessment.librarySystem.repository;
 
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
 import com.assessment.librarySystem.model.Borrower;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,17 @@ public interface BorrowerRepository extends BaseRepository<Borrower, Long> {
     Optional<Borrower> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    /**
+     * One borrower as its response DTO, read without loading (or snapshotting) a managed entity
+     */
+    @Query("SELECT new com.assessment.librarySystem.dto.response.BorrowerResponse(b.id, b.name, b.email) " +
+           "FROM Borrower b WHERE b.id = :id")
+    Optional<BorrowerResponse> findResponseById(@Param("id") Long id);
+    
+    /**
+     * Which of the given emails are already registered, in one query
+     */
+    @Query("SELECT b.email FROM Borrower b WHERE b.email IN :emails")
+    List<String> findRegisteredEmails(@Param("emails") Collection<String> emails);
 }
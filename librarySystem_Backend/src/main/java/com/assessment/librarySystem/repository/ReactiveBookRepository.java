@@ -0,0 +1,60 @@
+package com.assessment.librarySystem.repository;
+
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only catalog queries over R2DBC for the v2 API. Rows are emitted as the subscriber requests them,
+ * so no thread is held while the database works. Writes go through the JPA {@link BookRepository}.
+ */
+@Repository
+public class ReactiveBookRepository {
+
+    private static final String CATALOG_SELECT = "SELECT id, isbn, title, author FROM books";
+    /** Rows per round trip when streaming the catalog from a cursor */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveBookRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Keyset page of the catalog: the next books whose ID is greater than {@code afterId}
+     */
+    public Flux<CatalogEntry> findCatalogAfter(long afterId, int limit) {
+        return databaseClient.sql(CATALOG_SELECT + " WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveBookRepository::toCatalogEntry)
+                .all();
+    }
+
+    /**
+     * Every book whose ID is greater than {@code afterId}, in ID order, fetched in chunks as demand arrives
+     */
+    public Flux<CatalogEntry> streamCatalogAfter(long afterId) {
+        return databaseClient.sql(CATALOG_SELECT + " WHERE id > :afterId ORDER BY id")
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .bind("afterId", afterId)
+                .map(ReactiveBookRepository::toCatalogEntry)
+                .all();
+    }
+
+    public Mono<CatalogEntry> findCatalogEntryById(long id) {
+        return databaseClient.sql(CATALOG_SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toCatalogEntry)
+                .one();
+    }
+
+    private static CatalogEntry toCatalogEntry(Readable row) {
+        return new CatalogEntry(row.get("id", Long.class), row.get("isbn", String.class),
+            row.get("title", String.class), row.get("author", String.class));
+    }
+}
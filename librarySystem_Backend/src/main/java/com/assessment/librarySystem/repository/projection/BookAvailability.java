@@ -0,0 +1,13 @@
+package com.assessment.librarySystem.repository.projection;
+
+import com.assessment.librarySystem.model.Book;
+
+/**
+ * A book together with whether it is free to borrow and who it is being kept for (null when nobody),
+ * loaded in the same query
+ */
+public record BookAvailability(
+    Book book,
+    boolean available,
+    Long reservedFor
+) {}
@@ -0,0 +1,15 @@
+package com.assessment.librarySystem.repository.projection;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+
+/**
+ * Everything a borrow needs, loaded in one query: the borrower, the book, whether the book is free
+ * and who it is being kept for by a ready hold (null when nobody)
+ */
+public record BorrowCandidate(
+    Borrower borrower,
+    Book book,
+    boolean bookAvailable,
+    Long reservedFor
+) {}
@@ -0,0 +1,11 @@
+package com.assessment.librarySystem.repository.projection;
+
+/**
+ * Catalog columns of a book; availability is added from the in-memory availability index
+ */
+public record CatalogEntry(
+    Long id,
+    String isbn,
+    String title,
+    String author
+) {}
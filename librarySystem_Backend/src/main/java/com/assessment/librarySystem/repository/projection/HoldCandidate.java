@@ -0,0 +1,17 @@
+package com.assessment.librarySystem.repository.projection;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+
+/**
+ * Everything placing a hold needs, loaded in one query: the borrower, the book, who has it on loan
+ * and who it is being kept for (null when nobody), and the state of its queue
+ */
+public record HoldCandidate(
+    Borrower borrower,
+    Book book,
+    Long loanedTo,
+    Long reservedFor,
+    boolean alreadyQueued,
+    long queueLength
+) {}
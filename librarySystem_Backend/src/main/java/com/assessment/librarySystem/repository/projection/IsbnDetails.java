@@ -0,0 +1,10 @@
+package com.assessment.librarySystem.repository.projection;
+
+/**
+ * Title and author registered for an ISBN, used to check new copies against existing ones
+ */
+public record IsbnDetails(
+    String isbn,
+    String title,
+    String author
+) {}
@@ -0,0 +1,9 @@
+package com.assessment.librarySystem.repository.projection;
+
+/**
+ * A book that has been set aside, and the borrower it is being kept for
+ */
+public record ReadyHold(
+    Long bookId,
+    Long borrowerId
+) {}
@@ -0,0 +1,151 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.common.ConcurrentBitSet;
+import com.assessment.librarySystem.event.BookAvailabilityChangedEvent;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of AvailabilityIndex backed by a bit per book ID (set = on loan or kept for a borrower),
+ * plus a map from each kept book to its borrower. Reads are lock-free. Updates share a read lock, and only the final swap of a rebuild takes the write lock.
+ */
+@Service
+public class AvailabilityIndexImpl implements AvailabilityIndex {
+    
+    /** Order of the change listener: ahead of every other listener, which may read the index for the same change */
+    public static final int LISTENER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+    
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndexImpl.class);
+    
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final BookHoldRepository bookHoldRepository;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    /** A lock rather than a monitor: a rebuild waits on the database, which would pin a virtual thread inside synchronized */
+    private final Lock rebuildLock = new ReentrantLock();
+    
+    private volatile ConcurrentBitSet unavailable = new ConcurrentBitSet();
+    private volatile Map<Long, Long> reservations = new ConcurrentHashMap<>();
+    /** Changes applied while a rebuild is loading its snapshot; replayed onto the rebuilt set. Guarded by swapLock. */
+    private List<BookAvailabilityChangedEvent> pendingChanges;
+    
+    @Autowired
+    public AvailabilityIndexImpl(BorrowRecordRepository borrowRecordRepository, BookHoldRepository bookHoldRepository) {
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.bookHoldRepository = bookHoldRepository;
+    }
+    
+    @Override
+    public boolean isAvailable(Long bookId) {
+        return !unavailable.get(bookId);
+    }
+    
+    @Override
+    public Long reservedFor(Long bookId) {
+        return reservations.get(bookId);
+    }
+    
+    @Override
+    public long rebuild() {
+        rebuildLock.lock();
+        try {
+            swapLock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            
+            ConcurrentBitSet rebuilt = new ConcurrentBitSet();
+            Map<Long, Long> rebuiltReservations = new ConcurrentHashMap<>();
+            borrowRecordRepository.findBookIdsOnLoan().forEach(rebuilt::set);
+            bookHoldRepository.findReadyHolds().forEach(hold -> {
+                rebuilt.set(hold.bookId());
+                rebuiltReservations.put(hold.bookId(), hold.borrowerId());
+            });
+            
+            swapLock.writeLock().lock();
+            try {
+                // Loans committed while the snapshot was read may or may not be in it; replaying them in order settles both cases
+                pendingChanges.forEach(change -> apply(change, rebuilt, rebuiltReservations));
+                pendingChanges = null;
+                long corrected = ConcurrentBitSet.countDifferences(unavailable, rebuilt);
+                unavailable = rebuilt;
+                reservations = rebuiltReservations;
+                return corrected;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            List<BookAvailabilityChangedEvent> pending = pendingChanges;
+            if (pending != null) {
+                synchronized (pending) {
+                    pending.add(event);
+                }
+            }
+            apply(event, unavailable, reservations);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+    
+    private static void apply(BookAvailabilityChangedEvent change, ConcurrentBitSet unavailable, Map<Long, Long> reservations) {
+        unavailable.set(change.bookId(), !change.available());
+        if (change.status() instanceof BookStatus.Reserved reserved) {
+            reservations.put(change.bookId(), reserved.borrowerId());
+        } else {
+            reservations.remove(change.bookId());
+        }
+    }
+    
+    /**
+     * Load active loans and ready holds before the application reports itself ready for traffic
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        rebuild();
+        log.info("Availability index loaded with {} books unavailable, {} of them kept for a hold",
+            unavailable.cardinality(), reservations.size());
+    }
+    
+    /**
+     * Catch drift from writes the index never saw, e.g. loans made through another instance or by hand
+     */
+    @Scheduled(fixedDelayString = "${library.availability.reconcile-interval}",
+               initialDelayString = "${library.availability.reconcile-interval}")
+    public void reconcile() {
+        long corrected = rebuild();
+        if (corrected > 0) {
+            log.warn("Availability index had drifted on {} books; rebuilt from the database", corrected);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.config.AvailabilityStreamProperties;
+import com.assessment.librarySystem.dto.response.AvailabilityUpdate;
+import com.assessment.librarySystem.event.BookAvailabilityChangedEvent;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.AvailabilityStreamService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of AvailabilityStreamService over SseEmitter.
+ * <p>
+ * An open stream holds no thread: the request goes async and the emitter is written to only when there is
+ * something to send. Committed changes are noted in each watching subscriber's buffer, which keeps only the
+ * latest availability per book, so it never grows beyond the books the subscriber watches however slowly the
+ * client reads. Buffers are written out on virtual threads, one drain at a time per subscriber, so a stalled
+ * client only ever blocks its own sender and never the transaction that made the change.
+ * <p>
+ * Publishes library.availability.subscribers (streams currently open).
+ */
+@Service
+public class AvailabilityStreamServiceImpl implements AvailabilityStreamService {
+
+    public static final String SUBSCRIBERS_METRIC = "library.availability.subscribers";
+
+    private final BookRepository bookRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final int maxSubscribers;
+    private final int maxBooksPerSubscription;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> subscribersByBook = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ExecutorService senders =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("availability-stream-", 0).factory());
+
+    @Autowired
+    public AvailabilityStreamServiceImpl(BookRepository bookRepository,
+                                         AvailabilityIndex availabilityIndex,
+                                         AvailabilityStreamProperties properties,
+                                         MeterRegistry meterRegistry) {
+        if (properties.maxSubscribers() < 1 || properties.maxBooksPerSubscription() < 1) {
+            throw new IllegalArgumentException("library.availability.stream limits must be at least 1");
+        }
+        this.bookRepository = bookRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.maxSubscribers = properties.maxSubscribers();
+        this.maxBooksPerSubscription = properties.maxBooksPerSubscription();
+        this.timeoutMillis = properties.timeout().toMillis();
+        Gauge.builder(SUBSCRIBERS_METRIC, open, AtomicInteger::get)
+            .description("Availability streams currently open")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Collection<Long> bookIds) {
+        Set<Long> watched = validateBookIds(bookIds);
+        if (open.incrementAndGet() > maxSubscribers) {
+            open.decrementAndGet();
+            throw new IllegalStateException("Too many availability streams are open; please try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, watched);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Ends the response; EventSource clients reconnect and get a fresh snapshot
+        emitter.onTimeout(emitter::complete);
+
+        subscribers.add(subscriber);
+        for (Long bookId : watched) {
+            subscribersByBook.compute(bookId, (id, watching) -> {
+                Set<Subscriber> set = watching != null ? watching : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+        // Registered first, so a change committed meanwhile is not lost; a change already buffered wins over the snapshot
+        for (Long bookId : watched) {
+            subscriber.pending.putIfAbsent(bookId, availabilityIndex.isAvailable(bookId));
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return open.get();
+    }
+
+    /**
+     * Runs after the availability index has applied the change. Otherwise a stream opened in between would
+     * take its snapshot from the stale index after this listener had already passed it by, and show the
+     * old availability until the next change.
+     */
+    @TransactionalEventListener
+    @Order(AvailabilityIndexImpl.LISTENER_ORDER + 1)
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        Set<Subscriber> watching = subscribersByBook.get(event.bookId());
+        if (watching == null) {
+            return;
+        }
+        for (Subscriber subscriber : watching) {
+            subscriber.pending.put(event.bookId(), event.available());
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Write a comment to every open stream, so proxies do not drop idle connections and
+     * streams whose client has gone away are noticed and released
+     */
+    @Scheduled(fixedDelayString = "${library.availability.stream.heartbeat-interval}",
+               initialDelayString = "${library.availability.stream.heartbeat-interval}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * End every stream on shutdown, so graceful shutdown does not wait for them to time out
+     */
+    @PreDestroy
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            unsubscribe(subscriber);
+        }
+        senders.close();
+    }
+
+    private Set<Long> validateBookIds(Collection<Long> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one book ID is required");
+        }
+        if (bookIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+        Set<Long> watched = new LinkedHashSet<>(bookIds);
+        if (watched.size() > maxBooksPerSubscription) {
+            throw new IllegalArgumentException("At most " + maxBooksPerSubscription + " books can be watched on one stream");
+        }
+        Set<Long> known = new HashSet<>(bookRepository.findIdsByIdIn(watched));
+        for (Long bookId : watched) {
+            if (!known.contains(bookId)) {
+                throw new IllegalArgumentException("Book not found with ID: " + bookId);
+            }
+        }
+        return watched;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed.get() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+            for (Long bookId : subscriber.pending.keySet()) {
+                Boolean available = subscriber.pending.remove(bookId);
+                if (available != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .name(AVAILABILITY_EVENT)
+                        .data(new AvailabilityUpdate(bookId, available)));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away, or the emitter has already completed; the container reports the error itself
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Changes buffered after the loop passed them
+        if (!subscriber.pending.isEmpty() || subscriber.heartbeatDue) {
+            schedule(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        for (Long bookId : subscriber.bookIds) {
+            subscribersByBook.computeIfPresent(bookId, (id, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+        open.decrementAndGet();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> bookIds;
+        /** Latest availability not yet sent, per book; bounded by the books watched */
+        private final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, Set<Long> bookIds) {
+            this.emitter = emitter;
+            this.bookIds = bookIds;
+        }
+    }
+}
@@ -1,14 +1,35 @@
 package com.assessment.librarySystem.service.impl;
 
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.common.ValidationResult;
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.event.BookRegisteredEvent;
 import com.assessment.librarySystem.model.Book;
 import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import com.assessment.librarySystem.repository.projection.IsbnDetails;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
 import com.assessment.librarySystem.service.interfaces.BookService;
+import com.assessment.librarySystem.service.interfaces.CatalogSearchIndex;
+import com.assessment.librarySystem.validation.BookValidator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of BookService interface.
@@ -16,26 +37,112 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed("library.service")
 public class BookServiceImpl implements BookService {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    
     private final BookRepository bookRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, AvailabilityIndex availabilityIndex,
+                           CatalogSearchIndex catalogSearchIndex, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
     public Book registerBook(Book book) {
         validateBook(book);
         validateIsbnConsistency(book);
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        publishRegistered(saved);
+        return saved;
+    }
+    
+    @Override
+    public List<OperationResult<Book>> registerBooks(List<Book> books) {
+        Map<String, IsbnDetails> knownIsbns = loadIsbnDetails(books);
+        List<OperationResult<Book>> results = new ArrayList<>(books.size());
+        List<Book> accepted = new ArrayList<>(books.size());
+        
+        for (Book book : books) {
+            ValidationResult validation = BookValidator.validate(book);
+            if (validation.isInvalid()) {
+                results.add(new OperationResult.Failure<>(validation.getErrorMessage(), ErrorCodes.VALIDATION_ERROR));
+                continue;
+            }
+            
+            // The first copy of an ISBN in the batch sets the expected title/author for later ones
+            IsbnDetails existing = knownIsbns.putIfAbsent(book.getIsbn(),
+                new IsbnDetails(book.getIsbn(), book.getTitle(), book.getAuthor()));
+            if (existing != null && !hasSameTitleAndAuthor(existing.title(), existing.author(), book)) {
+                results.add(new OperationResult.Failure<>(
+                    isbnConflictMessage(existing.title(), existing.author(), book), ErrorCodes.ISBN_CONFLICT));
+                continue;
+            }
+            
+            accepted.add(book);
+            results.add(new OperationResult.Success<>(book, "Book registered successfully"));
+        }
+        
+        bookRepository.saveAll(accepted).forEach(this::publishRegistered);
+        return results;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookResponse> getCatalog() {
+        return bookRepository.findCatalog().stream().map(this::toCatalogResponse).toList();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public List<BookResponse> getCatalogPage(Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long cursor = afterId == null ? 0L : afterId;
+        return bookRepository.findCatalogAfter(cursor, Limit.of(limit)).stream().map(this::toCatalogResponse).toList();
+    }
+    
+    @Override
+    // Served from the search and availability indexes, so no database connection is taken
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PagedResult<BookResponse> searchCatalog(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Search offset cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PagedResult<CatalogEntry> hits = catalogSearchIndex.search(query, offset, limit);
+        return new PagedResult<>(hits.items().stream().map(this::toCatalogResponse).toList(), hits.total());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachCatalogEntry(Consumer<BookResponse> action) {
+        try (Stream<CatalogEntry> catalog = bookRepository.streamCatalog()) {
+            catalog.map(this::toCatalogResponse).forEach(action);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BookResponse> getCatalogEntry(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+        return bookRepository.findCatalogEntryById(id).map(this::toCatalogResponse);
     }
     
     @Override
@@ -47,25 +154,19 @@ public class BookServiceImpl implements BookService {
         return bookRepository.findById(id);
     }
     
+    private BookResponse toCatalogResponse(CatalogEntry entry) {
+        return new BookResponse(entry.id(), entry.isbn(), entry.title(), entry.author(),
+            availabilityIndex.isAvailable(entry.id()));
+    }
+    
+    private void publishRegistered(Book book) {
+        eventPublisher.publishEvent(new BookRegisteredEvent(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor()));
+    }
+    
     private void validateBook(Book book) {
-        if (book == null) {
-            throw new IllegalArgumentException("Book cannot be null");
-        }
-        
-        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
-            throw new IllegalArgumentException("Book title is required");
-        }
-        
-        if (book.getAuthor() == null || book.getAuthor().trim().isEmpty()) {
-            throw new IllegalArgumentException("Book author is required");
-        }
-        
-        if (book.getIsbn() == null || book.getIsbn().trim().isEmpty()) {
-            throw new IllegalArgumentException("Book ISBN is required");
-        }
-        
-        if (!isValidIsbn(book.getIsbn())) {
-            throw new IllegalArgumentException("Invalid ISBN format");
+        ValidationResult validation = BookValidator.validate(book);
+        if (validation.isInvalid()) {
+            throw new IllegalArgumentException(validation.getErrorMessage());
         }
     }
     
@@ -73,19 +174,35 @@ public class BookServiceImpl implements BookService {
         List<Book> existingBooks = bookRepository.findByIsbn(book.getIsbn());
         if (!existingBooks.isEmpty()) {
             Book existingBook = existingBooks.get(0);
-            if (!existingBook.getTitle().equals(book.getTitle()) || 
-                !existingBook.getAuthor().equals(book.getAuthor())) {
+            if (!hasSameTitleAndAuthor(existingBook.getTitle(), existingBook.getAuthor(), book)) {
                 throw new IllegalArgumentException(
-                    "Books with the same ISBN must have the same title and author. " +
-                    "Existing: " + existingBook.getTitle() + " by " + existingBook.getAuthor() +
-                    ", New: " + book.getTitle() + " by " + book.getAuthor()
-                );
+                    isbnConflictMessage(existingBook.getTitle(), existingBook.getAuthor(), book));
             }
         }
     }
     
-    private boolean isValidIsbn(String isbn) {
-        String cleanIsbn = isbn.replaceAll("[\\s-]", "");
-        return cleanIsbn.matches("^\\d{10}$") || cleanIsbn.matches("^\\d{13}$");
+    private Map<String, IsbnDetails> loadIsbnDetails(List<Book> books) {
+        List<String> isbns = books.stream()
+            .filter(Objects::nonNull)
+            .map(Book::getIsbn)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        Map<String, IsbnDetails> details = new HashMap<>();
+        if (!isbns.isEmpty()) {
+            bookRepository.findIsbnDetailsByIsbnIn(isbns)
+                .forEach(detail -> details.putIfAbsent(detail.isbn(), detail));
+        }
+        return details;
+    }
+    
+    private boolean hasSameTitleAndAuthor(String title, String author, Book book) {
+        return title.equals(book.getTitle()) && author.equals(book.getAuthor());
+    }
+    
+    private String isbnConflictMessage(String existingTitle, String existingAuthor, Book book) {
+        return "Books with the same ISBN must have the same title and author. " +
+            "Existing: " + existingTitle + " by " + existingAuthor +
+            ", New: " + book.getTitle() + " by " + book.getAuthor();
     }
 }
@@ -1,16 +1,42 @@
 package com.assessment.librarySystem.service.impl;
 
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.LoanStatus;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.LoanResponse;
+import com.assessment.librarySystem.event.BookAvailabilityChangedEvent;
 import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
 import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.projection.BookAvailability;
+import com.assessment.librarySystem.repository.projection.BorrowCandidate;
 import com.assessment.librarySystem.service.interfaces.BookService;
 import com.assessment.librarySystem.service.interfaces.BorrowService;
 import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.HoldService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of BorrowService interface.
@@ -18,110 +44,293 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed("library.service")
 public class BorrowServiceImpl implements BorrowService {
     
+    /** Counter of refused borrows, tagged with the reason */
+    public static final String BORROW_REJECTIONS_METRIC = "library.borrow.rejections";
+    
     private final BorrowRecordRepository borrowRecordRepository;
     private final BorrowerService borrowerService;
     private final BookService bookService;
+    private final HoldService holdService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter borrowerNotFound;
+    private final Counter bookNotFound;
+    private final Counter alreadyBorrowed;
+    private final Counter reserved;
     
     @Autowired
     public BorrowServiceImpl(BorrowRecordRepository borrowRecordRepository,
                            BorrowerService borrowerService,
-                           BookService bookService) {
+                           BookService bookService,
+                           HoldService holdService,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           PlatformTransactionManager transactionManager) {
         this.borrowRecordRepository = borrowRecordRepository;
         this.borrowerService = borrowerService;
         this.bookService = bookService;
+        this.holdService = holdService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Registered up front so every reason is scraped, at zero, before its first occurrence
+        this.borrowerNotFound = rejectionCounter(meterRegistry, "borrower_not_found");
+        this.bookNotFound = rejectionCounter(meterRegistry, "book_not_found");
+        this.alreadyBorrowed = rejectionCounter(meterRegistry, "already_borrowed");
+        this.reserved = rejectionCounter(meterRegistry, "reserved");
     }
     
     @Override
     public BorrowRecord borrowBook(Long borrowerId, Long bookId) {
-        validateBorrowOperation(borrowerId, bookId);
+        validateIds(borrowerId, bookId);
+        
+        // One query validates both parties and availability, and loads what the response needs
+        BorrowCandidate candidate = borrowRecordRepository.findBorrowCandidate(borrowerId, bookId)
+            .orElseThrow(() -> missingBorrowParty(borrowerId, bookId));
+        
+        if (!candidate.bookAvailable()) {
+            alreadyBorrowed.increment();
+            throw new IllegalStateException("Book with ID " + bookId + " is already borrowed");
+        }
+        if (candidate.reservedFor() != null) {
+            // Kept for a hold: only its borrower may take it, and doing so closes the hold
+            if (!candidate.reservedFor().equals(borrowerId) || holdService.fulfil(borrowerId, List.of(bookId)) == 0) {
+                reserved.increment();
+                throw reservedForAnother(bookId);
+            }
+        }
         
-        BorrowRecord borrowRecord = createBorrowRecord(borrowerId, bookId);
-        return borrowRecordRepository.save(borrowRecord);
+        // A concurrent borrow that slips past the check above is rejected by the
+        // active-loan unique index; flush so that surfaces here as a DataIntegrityViolationException
+        BorrowRecord record;
+        try {
+            record = borrowRecordRepository.saveAndFlush(new BorrowRecord(candidate.borrower(), candidate.book()));
+        } catch (DataIntegrityViolationException e) {
+            alreadyBorrowed.increment();
+            throw e;
+        }
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId, borrowed(record)));
+        return record;
     }
     
     @Override
     public BorrowRecord returnBook(Long borrowerId, Long bookId) {
-        validateReturnOperation(borrowerId, bookId);
+        validateIds(borrowerId, bookId);
         
-        Optional<BorrowRecord> activeBorrowRecord = borrowRecordRepository
-            .findByBorrowerIdAndBookIdAndReturnDateIsNull(borrowerId, bookId);
-        
-        if (activeBorrowRecord.isEmpty()) {
-            throw new IllegalArgumentException("No active borrow record found for borrower " + 
-                borrowerId + " and book " + bookId);
-        }
+        // Borrower and book come back fetched with the record, ready for the response
+        BorrowRecord record = borrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull(borrowerId, bookId)
+            .orElseThrow(() -> missingActiveLoan(borrowerId, bookId));
         
-        BorrowRecord record = activeBorrowRecord.get();
         record.setReturnDate(LocalDateTime.now());
+        // The next borrower in the book's queue, if any, gets it set aside in this same transaction
+        BookStatus.Reserved reservation = holdService.handOff(List.of(bookId)).get(bookId);
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId,
+            reservation != null ? reservation : new BookStatus.Available()));
         return borrowRecordRepository.save(record);
     }
     
-    private void validateBorrowOperation(Long borrowerId, Long bookId) {
-        if (borrowerId == null) {
-            throw new IllegalArgumentException("Borrower ID cannot be null");
+    /**
+     * Each attempt runs in its own transaction, so a batch rolled back by a lost race can be run again
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<OperationResult<BorrowRecord>> borrowBooks(Long borrowerId, List<Long> bookIds) {
+        validateBatch(borrowerId, bookIds);
+        List<Counter> rejections = new ArrayList<>();
+        List<OperationResult<BorrowRecord>> results;
+        try {
+            results = transactionTemplate.execute(status -> insertLoans(borrowerId, bookIds, rejections));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent borrow took one of the books between the availability check and the insert, rolling
+            // the batch back. Running it once more reports that book as unavailable and keeps the rest; the
+            // rejections of the rolled-back attempt are dropped so each refusal is counted once.
+            rejections.clear();
+            results = transactionTemplate.execute(status -> insertLoans(borrowerId, bookIds, rejections));
         }
-        if (bookId == null) {
-            throw new IllegalArgumentException("Book ID cannot be null");
+        rejections.forEach(Counter::increment);
+        return results;
+    }
+    
+    private List<OperationResult<BorrowRecord>> insertLoans(Long borrowerId, List<Long> bookIds, List<Counter> rejections) {
+        Borrower borrower = borrowerService.getBorrowerById(borrowerId).orElseThrow(() -> {
+            borrowerNotFound.increment();
+            return borrowerNotFound(borrowerId);
+        });
+        Map<Long, BookAvailability> books = borrowRecordRepository.findBookAvailability(new HashSet<>(bookIds)).stream()
+            .collect(Collectors.toMap(availability -> availability.book().getId(), Function.identity()));
+        
+        Set<Long> seen = new HashSet<>();
+        List<OperationResult<BorrowRecord>> results = new ArrayList<>(bookIds.size());
+        List<BorrowRecord> records = new ArrayList<>(bookIds.size());
+        List<Long> collected = new ArrayList<>();
+        for (Long bookId : bookIds) {
+            BookAvailability availability = books.get(bookId);
+            if (!seen.add(bookId)) {
+                results.add(duplicateItem(bookId));
+            } else if (availability == null) {
+                rejections.add(bookNotFound);
+                results.add(new OperationResult.Failure<>("Book not found with ID: " + bookId, ErrorCodes.BOOK_NOT_FOUND));
+            } else if (!availability.available()) {
+                rejections.add(alreadyBorrowed);
+                results.add(new OperationResult.Failure<>("Book with ID " + bookId + " is already borrowed", ErrorCodes.BOOK_UNAVAILABLE));
+            } else if (availability.reservedFor() != null && !availability.reservedFor().equals(borrowerId)) {
+                rejections.add(reserved);
+                results.add(new OperationResult.Failure<>(reservedForAnother(bookId).getMessage(), ErrorCodes.BOOK_UNAVAILABLE));
+            } else {
+                if (availability.reservedFor() != null) {
+                    collected.add(bookId);
+                }
+                BorrowRecord record = new BorrowRecord(borrower, availability.book());
+                records.add(record);
+                results.add(new OperationResult.Success<>(record, "Book borrowed successfully"));
+            }
         }
         
-        // Check if borrower exists
-        if (borrowerService.getBorrowerById(borrowerId).isEmpty()) {
-            throw new IllegalArgumentException("Borrower not found with ID: " + borrowerId);
+        if (!collected.isEmpty() && holdService.fulfil(borrowerId, collected) != collected.size()) {
+            // The expiry sweep passed one of them on since it was read; refuse rather than take someone else's book
+            throw new IllegalStateException("A book in the batch is no longer being kept for borrower " + borrowerId);
         }
         
-        // Check if book exists
-        if (bookService.getBookById(bookId).isEmpty()) {
-            throw new IllegalArgumentException("Book not found with ID: " + bookId);
+        // As in borrowBook, the active-loan unique index rejects a concurrent borrow at flush time
+        borrowRecordRepository.saveAllAndFlush(records);
+        records.forEach(record -> eventPublisher.publishEvent(new BookAvailabilityChangedEvent(record.getBook().getId(), borrowed(record))));
+        return results;
+    }
+    
+    @Override
+    public List<OperationResult<BorrowRecord>> returnBooks(Long borrowerId, List<Long> bookIds) {
+        validateBatch(borrowerId, bookIds);
+        if (borrowerService.getBorrowerById(borrowerId).isEmpty()) {
+            throw borrowerNotFound(borrowerId);
         }
+        Map<Long, BorrowRecord> activeLoans = borrowRecordRepository.findActiveLoans(borrowerId, new HashSet<>(bookIds)).stream()
+            .collect(Collectors.toMap(record -> record.getBook().getId(), Function.identity()));
         
-        // Check if book is available
-        if (!isBookAvailable(bookId)) {
-            throw new IllegalArgumentException("Book with ID " + bookId + " is already borrowed");
+        Set<Long> seen = new HashSet<>();
+        LocalDateTime returnDate = LocalDateTime.now();
+        List<OperationResult<BorrowRecord>> results = new ArrayList<>(bookIds.size());
+        List<Long> returned = new ArrayList<>();
+        for (Long bookId : bookIds) {
+            BorrowRecord record = activeLoans.get(bookId);
+            if (!seen.add(bookId)) {
+                results.add(duplicateItem(bookId));
+            } else if (record == null) {
+                results.add(new OperationResult.Failure<>("No active borrow record found for borrower " +
+                    borrowerId + " and book " + bookId, ErrorCodes.NO_ACTIVE_LOAN));
+            } else {
+                // Managed entities: the updates are flushed together at commit
+                record.setReturnDate(returnDate);
+                returned.add(bookId);
+                results.add(new OperationResult.Success<>(record, "Book returned successfully"));
+            }
         }
+        
+        // One query for all the returned books' queues
+        Map<Long, BookStatus.Reserved> reservations = holdService.handOff(returned);
+        returned.forEach(bookId -> eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId,
+            reservations.containsKey(bookId) ? reservations.get(bookId) : new BookStatus.Available())));
+        return results;
     }
     
-    private void validateReturnOperation(Long borrowerId, Long bookId) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<LoanResponse> getLoans(Long borrowerId, LoanStatus status, Long afterId, int limit) {
         if (borrowerId == null) {
             throw new IllegalArgumentException("Borrower ID cannot be null");
         }
-        if (bookId == null) {
-            throw new IllegalArgumentException("Book ID cannot be null");
+        if (limit < 1 || limit > BookServiceImpl.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + BookServiceImpl.MAX_PAGE_SIZE);
         }
+        Limit page = Limit.of(limit);
+        List<LoanResponse> loans = switch (status) {
+            case null -> afterId == null
+                ? borrowRecordRepository.findLoans(borrowerId, page)
+                : borrowRecordRepository.findLoansAfter(borrowerId, afterId, page);
+            case ACTIVE -> afterId == null
+                ? borrowRecordRepository.findUnreturnedLoans(borrowerId, page)
+                : borrowRecordRepository.findUnreturnedLoansAfter(borrowerId, afterId, page);
+            case RETURNED -> afterId == null
+                ? borrowRecordRepository.findReturnedLoans(borrowerId, page)
+                : borrowRecordRepository.findReturnedLoansAfter(borrowerId, afterId, page);
+        };
         
-        // Check if borrower exists
-        if (borrowerService.getBorrowerById(borrowerId).isEmpty()) {
-            throw new IllegalArgumentException("Borrower not found with ID: " + borrowerId);
+        // A non-empty page proves the borrower exists; only an empty one needs the extra lookup
+        if (loans.isEmpty() && borrowerService.getBorrowerSummary(borrowerId).isEmpty()) {
+            throw borrowerNotFound(borrowerId);
         }
-        
-        // Check if book exists
-        if (bookService.getBookById(bookId).isEmpty()) {
-            throw new IllegalArgumentException("Book not found with ID: " + bookId);
+        return loans;
+    }
+    
+    private void validateBatch(Long borrowerId, List<Long> bookIds) {
+        if (borrowerId == null) {
+            throw new IllegalArgumentException("Borrower ID cannot be null");
         }
-        
-        // Check if there's an active borrow record
-        Optional<BorrowRecord> activeBorrowRecord = borrowRecordRepository
-            .findByBorrowerIdAndBookIdAndReturnDateIsNull(borrowerId, bookId);
-        
-        if (activeBorrowRecord.isEmpty()) {
-            throw new IllegalArgumentException("No active borrow record found for borrower " + 
-                borrowerId + " and book " + bookId);
+        if (bookIds == null || bookIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one book ID is required");
+        }
+        if (bookIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Book ID cannot be null");
         }
     }
     
-    private boolean isBookAvailable(Long bookId) {
+    private IllegalArgumentException borrowerNotFound(Long borrowerId) {
+        return new IllegalArgumentException("Borrower not found with ID: " + borrowerId);
+    }
+    
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(BORROW_REJECTIONS_METRIC)
+            .description("Borrow requests refused, by reason")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+    
+    private static BookStatus.Borrowed borrowed(BorrowRecord record) {
+        return new BookStatus.Borrowed(record.getBorrower().getId(), record.getBorrower().getName(), record.getBorrowDate());
+    }
+    
+    private IllegalStateException reservedForAnother(Long bookId) {
+        return new IllegalStateException("Book with ID " + bookId + " is being kept for another borrower");
+    }
+    
+    private OperationResult<BorrowRecord> duplicateItem(Long bookId) {
+        return new OperationResult.Failure<>("Book with ID " + bookId + " appears more than once in the batch",
+            ErrorCodes.DUPLICATE_ITEM);
+    }
+    
+    private void validateIds(Long borrowerId, Long bookId) {
+        if (borrowerId == null) {
+            throw new IllegalArgumentException("Borrower ID cannot be null");
+        }
         if (bookId == null) {
-            return false;
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+    }
+    
+    /**
+     * Work out which side of a failed borrow lookup is missing. Only runs on the failure path.
+     */
+    private IllegalArgumentException missingBorrowParty(Long borrowerId, Long bookId) {
+        if (borrowerService.getBorrowerById(borrowerId).isEmpty()) {
+            borrowerNotFound.increment();
+            return borrowerNotFound(borrowerId);
         }
-        return borrowRecordRepository.findByBookIdAndReturnDateIsNull(bookId).isEmpty();
+        bookNotFound.increment();
+        return new IllegalArgumentException("Book not found with ID: " + bookId);
     }
     
-    private BorrowRecord createBorrowRecord(Long borrowerId, Long bookId) {
-        BorrowRecord borrowRecord = new BorrowRecord();
-        borrowRecord.setBorrower(borrowerService.getBorrowerById(borrowerId).orElse(null));
-        borrowRecord.setBook(bookService.getBookById(bookId).orElse(null));
-        borrowRecord.setBorrowDate(LocalDateTime.now());
-        return borrowRecord;
+    /**
+     * Work out why a return found no active loan. Only runs on the failure path.
+     */
+    private IllegalArgumentException missingActiveLoan(Long borrowerId, Long bookId) {
+        if (borrowerService.getBorrowerById(borrowerId).isEmpty()) {
+            return borrowerNotFound(borrowerId);
+        }
+        if (bookService.getBookById(bookId).isEmpty()) {
+            return new IllegalArgumentException("Book not found with ID: " + bookId);
+        }
+        return new IllegalArgumentException("No active borrow record found for borrower " +
+            borrowerId + " and book " + bookId);
     }
 }
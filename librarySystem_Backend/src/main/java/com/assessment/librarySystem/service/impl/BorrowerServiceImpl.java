@@ -1,13 +1,28 @@
 package com.assessment.librarySystem.service.impl;
 
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.common.ValidationResult;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
 import com.assessment.librarySystem.model.Borrower;
 import com.assessment.librarySystem.repository.BorrowerRepository;
 import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.validation.BorrowerValidator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of BorrowerService interface.
@@ -15,13 +30,16 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed("library.service")
 public class BorrowerServiceImpl implements BorrowerService {
     
     private final BorrowerRepository borrowerRepository;
+    private final TransactionTemplate transactionTemplate;
     
     @Autowired
-    public BorrowerServiceImpl(BorrowerRepository borrowerRepository) {
+    public BorrowerServiceImpl(BorrowerRepository borrowerRepository, PlatformTransactionManager transactionManager) {
         this.borrowerRepository = borrowerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
     @Override
@@ -31,6 +49,34 @@ public class BorrowerServiceImpl implements BorrowerService {
         return borrowerRepository.save(borrower);
     }
     
+    /**
+     * Each attempt runs in its own transaction, so a batch rolled back by a lost race can be run again
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<OperationResult<Borrower>> registerBorrowers(List<Borrower> borrowers) {
+        try {
+            return transactionTemplate.execute(status -> insertBorrowers(borrowers));
+        } catch (DataIntegrityViolationException e) {
+            // A borrower registered concurrently between the email lookup and the insert rolled the batch back.
+            // Running it once more reports that email as a conflict and keeps the rest; the entities are copied
+            // because the rolled-back ones still carry the IDs assigned to them.
+            List<Borrower> copies = borrowers.stream()
+                .map(borrower -> borrower == null ? null : new Borrower(borrower.getName(), borrower.getEmail()))
+                .toList();
+            return transactionTemplate.execute(status -> insertBorrowers(copies));
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BorrowerResponse> getBorrowerSummary(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Borrower ID cannot be null");
+        }
+        return borrowerRepository.findResponseById(id);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Optional<Borrower> getBorrowerById(Long id) {
@@ -40,25 +86,41 @@ public class BorrowerServiceImpl implements BorrowerService {
         return borrowerRepository.findById(id);
     }
     
-    private void validateBorrower(Borrower borrower) {
-        if (borrower == null) {
-            throw new IllegalArgumentException("Borrower cannot be null");
-        }
-        
-        if (borrower.getName() == null || borrower.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Borrower name is required");
-        }
+    private List<OperationResult<Borrower>> insertBorrowers(List<Borrower> borrowers) {
+        Set<String> registeredEmails = loadRegisteredEmails(borrowers);
+        Set<String> batchEmails = new HashSet<>();
+        List<OperationResult<Borrower>> results = new ArrayList<>(borrowers.size());
+        List<Borrower> accepted = new ArrayList<>(borrowers.size());
         
-        if (borrower.getName().length() < 2 || borrower.getName().length() > 100) {
-            throw new IllegalArgumentException("Borrower name must be between 2 and 100 characters");
+        for (Borrower borrower : borrowers) {
+            ValidationResult validation = BorrowerValidator.validate(borrower);
+            if (validation.isInvalid()) {
+                results.add(new OperationResult.Failure<>(validation.getErrorMessage(), ErrorCodes.VALIDATION_ERROR));
+                continue;
+            }
+            
+            if (registeredEmails.contains(borrower.getEmail())) {
+                results.add(new OperationResult.Failure<>("Email already exists: " + borrower.getEmail(), ErrorCodes.EMAIL_CONFLICT));
+                continue;
+            }
+            if (!batchEmails.add(borrower.getEmail())) {
+                results.add(new OperationResult.Failure<>("Duplicate email in batch: " + borrower.getEmail(), ErrorCodes.EMAIL_CONFLICT));
+                continue;
+            }
+            
+            accepted.add(borrower);
+            results.add(new OperationResult.Success<>(borrower, "Borrower registered successfully"));
         }
         
-        if (borrower.getEmail() == null || borrower.getEmail().trim().isEmpty()) {
-            throw new IllegalArgumentException("Borrower email is required");
-        }
-        
-        if (!isValidEmail(borrower.getEmail())) {
-            throw new IllegalArgumentException("Invalid email format");
+        // The unique constraint on email has the final say; flushing here surfaces a lost race to the caller
+        borrowerRepository.saveAllAndFlush(accepted);
+        return results;
+    }
+    
+    private void validateBorrower(Borrower borrower) {
+        ValidationResult validation = BorrowerValidator.validate(borrower);
+        if (validation.isInvalid()) {
+            throw new IllegalArgumentException(validation.getErrorMessage());
         }
     }
     
@@ -68,7 +130,13 @@ public class BorrowerServiceImpl implements BorrowerService {
         }
     }
     
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+    private Set<String> loadRegisteredEmails(List<Borrower> borrowers) {
+        List<String> emails = borrowers.stream()
+            .filter(Objects::nonNull)
+            .map(Borrower::getEmail)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        return emails.isEmpty() ? Set.of() : new HashSet<>(borrowerRepository.findRegisteredEmails(emails));
     }
 }
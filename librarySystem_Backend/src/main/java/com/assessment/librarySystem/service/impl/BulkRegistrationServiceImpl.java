@@ -0,0 +1,184 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.common.BulkFormat;
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.request.BookRegistrationRequest;
+import com.assessment.librarySystem.dto.request.BorrowerRegistrationRequest;
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
+import com.assessment.librarySystem.dto.response.BulkItemResult;
+import com.assessment.librarySystem.dto.response.BulkOperationResponse;
+import com.assessment.librarySystem.mapper.BookMapper;
+import com.assessment.librarySystem.mapper.BorrowerMapper;
+import com.assessment.librarySystem.service.interfaces.BookService;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.BulkRegistrationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BulkRegistrationService interface.
+ * Not transactional itself: each chunk is registered in its own BookService / BorrowerService transaction.
+ */
+@Service
+public class BulkRegistrationServiceImpl implements BulkRegistrationService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final BookService bookService;
+    private final BorrowerService borrowerService;
+    private final BookMapper bookMapper;
+    private final BorrowerMapper borrowerMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Autowired
+    public BulkRegistrationServiceImpl(BookService bookService,
+                                       BorrowerService borrowerService,
+                                       BookMapper bookMapper,
+                                       BorrowerMapper borrowerMapper,
+                                       ObjectMapper objectMapper,
+                                       Validator validator) {
+        this.bookService = bookService;
+        this.borrowerService = borrowerService;
+        this.bookMapper = bookMapper;
+        this.borrowerMapper = borrowerMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @Override
+    public BulkOperationResponse<BookResponse> registerBooks(InputStream rows, BulkFormat format) throws IOException {
+        return registerRows(readerFor(BookRegistrationRequest.class, format), rows,
+            bookMapper::toEntity, bookService::registerBooks, bookMapper::toResponse);
+    }
+
+    @Override
+    public BulkOperationResponse<BorrowerResponse> registerBorrowers(InputStream rows, BulkFormat format) throws IOException {
+        return registerRows(readerFor(BorrowerRegistrationRequest.class, format), rows,
+            borrowerMapper::toEntity, borrowerService::registerBorrowers, borrowerMapper::toResponse);
+    }
+
+    private ObjectReader readerFor(Class<?> rowType, BulkFormat format) {
+        return switch (format) {
+            case JSON -> objectMapper.readerFor(rowType);
+            case CSV -> CSV_MAPPER.readerFor(rowType).with(CsvSchema.emptySchema().withHeader());
+        };
+    }
+
+    /**
+     * Read bulk rows in chunks, register each chunk with one service call and collect per-row results in order.
+     * Stops with an IllegalArgumentException at the first row past MAX_ROWS.
+     */
+    private <R, E, D> BulkOperationResponse<D> registerRows(ObjectReader reader, InputStream body, Function<R, E> toEntity,
+            Function<List<E>, List<OperationResult<E>>> register, Function<E, D> toResponse) throws IOException {
+        List<BulkItemResult<D>> results = new ArrayList<>();
+        List<R> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (MappingIterator<R> rows = openRows(reader, body)) {
+            while (hasNextRow(rows, results.size() + chunk.size())) {
+                if (results.size() + chunk.size() == MAX_ROWS) {
+                    throw new IllegalArgumentException("Bulk payload has more than " + MAX_ROWS
+                        + " rows; the first " + MAX_ROWS + " were processed, send the rest separately");
+                }
+                chunk.add(readRow(rows, results.size() + chunk.size()));
+                if (chunk.size() == CHUNK_SIZE) {
+                    registerChunk(chunk, results, toEntity, register, toResponse);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            registerChunk(chunk, results, toEntity, register, toResponse);
+        }
+        return BulkOperationResponse.of(results);
+    }
+
+    private <T> MappingIterator<T> openRows(ObjectReader reader, InputStream body) throws IOException {
+        try {
+            return reader.readValues(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed bulk payload at row 0: " + e.getOriginalMessage());
+        }
+    }
+
+    private boolean hasNextRow(MappingIterator<?> rows, int index) {
+        try {
+            return rows.hasNext();
+        } catch (RuntimeException e) {
+            throw malformedRow(e, index);
+        }
+    }
+
+    private <T> T readRow(MappingIterator<T> rows, int index) {
+        try {
+            return rows.next();
+        } catch (RuntimeException e) {
+            throw malformedRow(e, index);
+        }
+    }
+
+    private RuntimeException malformedRow(RuntimeException e, int index) {
+        if (e.getCause() instanceof JsonProcessingException cause) {
+            return new IllegalArgumentException("Malformed bulk payload at row " + index + ": " + cause.getOriginalMessage());
+        }
+        return e;
+    }
+
+    /**
+     * Bean-validate a chunk, send the valid rows to the service in one call, and merge results in row order
+     */
+    private <R, E, D> void registerChunk(List<R> chunk, List<BulkItemResult<D>> results, Function<R, E> toEntity,
+            Function<List<E>, List<OperationResult<E>>> register, Function<E, D> toResponse) {
+        int offset = results.size();
+        List<BulkItemResult<D>> chunkResults = new ArrayList<>(chunk.size());
+        List<Integer> validIndexes = new ArrayList<>(chunk.size());
+        List<E> validEntities = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            String violations = describeViolations(validator.validate(chunk.get(i)));
+            if (violations == null) {
+                validIndexes.add(i);
+                validEntities.add(toEntity.apply(chunk.get(i)));
+                chunkResults.add(null);
+            } else {
+                chunkResults.add(BulkItemResult.failure(offset + i, violations, ErrorCodes.VALIDATION_ERROR));
+            }
+        }
+
+        if (!validEntities.isEmpty()) {
+            List<OperationResult<E>> registered = register.apply(validEntities);
+            for (int i = 0; i < registered.size(); i++) {
+                int index = validIndexes.get(i);
+                chunkResults.set(index, BulkItemResult.from(offset + index, registered.get(i), toResponse));
+            }
+        }
+        results.addAll(chunkResults);
+    }
+
+    private <T> String describeViolations(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,210 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.event.BookRegisteredEvent;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import com.assessment.librarySystem.service.interfaces.CatalogSearchIndex;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of CatalogSearchIndex backed by an in-memory Lucene index.
+ * Hits are served from stored fields, so a search never touches the database.
+ */
+@Service
+public class CatalogSearchIndexImpl implements CatalogSearchIndex, DisposableBean {
+    
+    public static final int MAX_QUERY_TERMS = 10;
+    
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndexImpl.class);
+    private static final String ID = "id";
+    private static final String ISBN = "isbn";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final float TITLE_BOOST = 2f;
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    
+    private final BookRepository bookRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    
+    @Autowired
+    public CatalogSearchIndexImpl(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public PagedResult<CatalogEntry> search(String query, int offset, int limit) {
+        Query luceneQuery = buildQuery(query);
+        if (luceneQuery == null) {
+            return new PagedResult<>(List.of(), 0);
+        }
+        try {
+            // Cheap no-op unless books were indexed since the last search
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(luceneQuery, offset + limit);
+                long total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? top.totalHits.value
+                    : searcher.count(luceneQuery);
+                StoredFields storedFields = searcher.storedFields();
+                List<CatalogEntry> entries = new ArrayList<>(limit);
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    entries.add(toEntry(storedFields.document(top.scoreDocs[i].doc)));
+                }
+                return new PagedResult<>(entries, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public long rebuild() {
+        long indexed = 0;
+        long afterId = 0;
+        List<CatalogEntry> page;
+        do {
+            page = bookRepository.findCatalogAfter(afterId, Limit.of(REBUILD_PAGE_SIZE));
+            page.forEach(this::index);
+            indexed += page.size();
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).id();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        return indexed;
+    }
+    
+    @TransactionalEventListener
+    public void onBookRegistered(BookRegisteredEvent event) {
+        index(new CatalogEntry(event.bookId(), event.isbn(), event.title(), event.author()));
+    }
+    
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        log.info("Catalog search index loaded with {} books", rebuild());
+    }
+    
+    /**
+     * Books registered through another instance are not seen by this one; a count mismatch triggers a full re-index
+     */
+    @Scheduled(fixedDelayString = "${library.search.reconcile-interval}",
+               initialDelayString = "${library.search.reconcile-interval}")
+    public void reconcile() {
+        long books = bookRepository.count();
+        long indexed = writer.getDocStats().numDocs;
+        if (books != indexed) {
+            log.warn("Catalog search index has {} books but the database has {}; re-indexing", indexed, books);
+            rebuild();
+        }
+    }
+    
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+    
+    /**
+     * Every term must match title or author, either exactly (scored, title weighted higher) or as a prefix
+     */
+    private Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            throw new IllegalArgumentException("Search query can have at most " + MAX_QUERY_TERMS + " terms");
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                .add(new TermQuery(new Term(AUTHOR, term)), BooleanClause.Occur.SHOULD)
+                .add(new PrefixQuery(new Term(TITLE, term)), BooleanClause.Occur.SHOULD)
+                .add(new PrefixQuery(new Term(AUTHOR, term)), BooleanClause.Occur.SHOULD)
+                .build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+    
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+    
+    private void index(CatalogEntry entry) {
+        Document document = new Document();
+        document.add(new StringField(ID, entry.id().toString(), Field.Store.YES));
+        document.add(new StoredField(ISBN, entry.isbn()));
+        document.add(new TextField(TITLE, entry.title(), Field.Store.YES));
+        document.add(new TextField(AUTHOR, entry.author(), Field.Store.YES));
+        try {
+            // Keyed by ID, so re-indexing a book replaces it instead of duplicating it
+            writer.updateDocument(new Term(ID, entry.id().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private CatalogEntry toEntry(Document document) {
+        return new CatalogEntry(Long.valueOf(document.get(ID)), document.get(ISBN), document.get(TITLE), document.get(AUTHOR));
+    }
+}
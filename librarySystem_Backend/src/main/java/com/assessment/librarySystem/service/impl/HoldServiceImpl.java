@@ -0,0 +1,201 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.config.HoldProperties;
+import com.assessment.librarySystem.dto.response.HoldResponse;
+import com.assessment.librarySystem.event.BookAvailabilityChangedEvent;
+import com.assessment.librarySystem.model.BookHold;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.model.HoldStatus;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.projection.HoldCandidate;
+import com.assessment.librarySystem.service.interfaces.BookLocks;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.HoldService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of HoldService interface.
+ * <p>
+ * Placing a hold takes the book's lock (BookLocks) around its transaction, as borrows and returns of a single
+ * book do, so a hold cannot slip in between a return's look at the queue and its commit. Batch returns do not
+ * lock; a hold that lands on a book one of them frees is picked up by the next sweep, which also expires
+ * ready holds that were not collected within library.holds.pickup-window.
+ */
+@Service
+@Timed("library.service")
+public class HoldServiceImpl implements HoldService {
+    
+    /** Counter of ready holds whose borrower did not collect the book in time */
+    public static final String HOLDS_EXPIRED_METRIC = "library.holds.expired";
+    
+    private static final Logger log = LoggerFactory.getLogger(HoldServiceImpl.class);
+    
+    private final BookHoldRepository bookHoldRepository;
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final BorrowerService borrowerService;
+    private final BookLocks bookLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration pickupWindow;
+    private final Counter expired;
+    
+    @Autowired
+    public HoldServiceImpl(BookHoldRepository bookHoldRepository,
+                           BorrowRecordRepository borrowRecordRepository,
+                           BorrowerService borrowerService,
+                           BookLocks bookLocks,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           HoldProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.bookHoldRepository = bookHoldRepository;
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.borrowerService = borrowerService;
+        this.bookLocks = bookLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.pickupWindow = properties.pickupWindow();
+        this.expired = Counter.builder(HOLDS_EXPIRED_METRIC)
+            .description("Ready holds that expired before the borrower collected the book")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public HoldResponse placeHold(Long bookId, Long borrowerId) {
+        if (bookId == null) {
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+        if (borrowerId == null) {
+            throw new IllegalArgumentException("Borrower ID cannot be null");
+        }
+        // The lock is outside the transaction, so the hold is committed before a waiting return looks at the queue
+        return bookLocks.withLock(bookId, () -> transactionTemplate.execute(status -> enqueue(bookId, borrowerId)));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, BookStatus.Reserved> handOff(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime readyAt = LocalDateTime.now();
+        Map<Long, BookStatus.Reserved> reservations = new HashMap<>();
+        for (BookHold hold : bookHoldRepository.findNextInQueue(bookIds)) {
+            hold.setStatus(HoldStatus.READY);
+            hold.setReadyAt(readyAt);
+            Borrower borrower = hold.getBorrower();
+            reservations.put(hold.getBook().getId(), new BookStatus.Reserved(borrower.getId(), borrower.getName(), readyAt));
+        }
+        return reservations;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int fulfil(Long borrowerId, Collection<Long> bookIds) {
+        return bookHoldRepository.markFulfilled(borrowerId, bookIds);
+    }
+    
+    /**
+     * Expire ready holds past the pickup window, passing each book on to the next in line, and restart
+     * queues left behind a book that is free. Each book is settled under its lock in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${library.holds.sweep-interval}",
+               initialDelayString = "${library.holds.sweep-interval}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pickupWindow);
+        Set<Long> bookIds = new LinkedHashSet<>(bookHoldRepository.findBookIdsReadySince(cutoff));
+        bookIds.addAll(bookHoldRepository.findBookIdsWithStalledQueues());
+        for (Long bookId : bookIds) {
+            try {
+                bookLocks.withLock(bookId, () -> transactionTemplate.execute(status -> settle(bookId, cutoff)));
+            } catch (IllegalStateException e) {
+                log.debug("Book {} is busy; leaving its holds for the next sweep", bookId);
+            }
+        }
+    }
+    
+    private HoldResponse enqueue(Long bookId, Long borrowerId) {
+        // One query validates both parties and loads the book's loan and queue
+        HoldCandidate candidate = bookHoldRepository.findHoldCandidate(borrowerId, bookId)
+            .orElseThrow(() -> missingHoldParty(borrowerId, bookId));
+    
+        if (borrowerId.equals(candidate.loanedTo())) {
+            throw new IllegalStateException("Borrower " + borrowerId + " already has book " + bookId + " on loan");
+        }
+        if (borrowerId.equals(candidate.reservedFor())) {
+            throw new IllegalStateException("Book with ID " + bookId + " is already being kept for borrower " + borrowerId);
+        }
+        if (candidate.alreadyQueued()) {
+            throw new IllegalStateException("Borrower " + borrowerId + " already has a hold on book " + bookId);
+        }
+        if (candidate.loanedTo() == null && candidate.reservedFor() == null) {
+            throw new IllegalStateException("Book with ID " + bookId + " is available; borrow it instead");
+        }
+    
+        BookHold hold = bookHoldRepository.save(new BookHold(candidate.borrower(), candidate.book()));
+        return new HoldResponse(hold.getId(), bookId, borrowerId, hold.getStatus(),
+            candidate.queueLength() + 1, hold.getCreatedAt());
+    }
+    
+    /**
+     * Re-check a book found by the sweep, now that its lock is held
+     */
+    private Void settle(Long bookId, LocalDateTime cutoff) {
+        Optional<BookHold> ready = bookHoldRepository.findFirstByBookIdAndStatus(bookId, HoldStatus.READY);
+        if (ready.isPresent()) {
+            if (!ready.get().getReadyAt().isBefore(cutoff)) {
+                return null;
+            }
+            ready.get().setStatus(HoldStatus.EXPIRED);
+            // Expire before promoting the next hold: updates are flushed in ID order, not in the order made,
+            // and the book may only have one ready hold at a time
+            bookHoldRepository.flush();
+            expired.increment();
+        } else if (borrowRecordRepository.findByBookIdAndReturnDateIsNull(bookId).isPresent()) {
+            // Collected or borrowed since the scan; the return will move the queue
+            return null;
+        }
+    
+        BookStatus.Reserved reservation = handOff(List.of(bookId)).get(bookId);
+        if (reservation != null) {
+            eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId, reservation));
+        } else if (ready.isPresent()) {
+            eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId, new BookStatus.Available()));
+        }
+        return null;
+    }
+    
+    /**
+     * Work out which side of a failed hold lookup is missing. Only runs on the failure path.
+     */
+    private IllegalArgumentException missingHoldParty(Long borrowerId, Long bookId) {
+        if (borrowerService.getBorrowerById(borrowerId).isEmpty()) {
+            return new IllegalArgumentException("Borrower not found with ID: " + borrowerId);
+        }
+        return new IllegalArgumentException("Book not found with ID: " + bookId);
+    }
+}
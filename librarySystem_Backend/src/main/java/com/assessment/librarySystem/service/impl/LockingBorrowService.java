@@ -0,0 +1,113 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.common.LoanStatus;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.LoanResponse;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.BookLocks;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * BorrowService that queues concurrent borrows of the same book behind its lock, so that when a popular title
+ * is released one request borrows it and the rest are refused without each running the database checks.
+ * <p>
+ * The lock is taken outside BorrowServiceImpl's transaction, so the winner's loan is committed and in the
+ * availability index before the next request is let in. Requests for a book the index already shows as on loan,
+ * or as kept for another borrower's hold, are refused straight away with a 409. That shortcut is only taken when
+ * the locks are in-process: with several instances the index learns of other instances' returns only when it is
+ * next reconciled, so there the waiting requests fall through to the (single query) database check instead.
+ * <p>
+ * Single returns take the same lock, so a return and a hold being placed on the book (HoldServiceImpl) never
+ * interleave. Everything else is passed straight through.
+ */
+@Service
+@Primary
+public class LockingBorrowService implements BorrowService {
+
+    /** Counter of borrows refused from the availability index without reaching the database */
+    public static final String FAST_FAILS_METRIC = "library.borrow.fast-fails";
+
+    private final BorrowService delegate;
+    private final BookLocks bookLocks;
+    private final AvailabilityIndex availabilityIndex;
+    private final Counter fastFails;
+    private final Counter alreadyBorrowed;
+    private final Counter reserved;
+
+    @Autowired
+    public LockingBorrowService(BorrowServiceImpl delegate,
+                                BookLocks bookLocks,
+                                AvailabilityIndex availabilityIndex,
+                                MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.bookLocks = bookLocks;
+        this.availabilityIndex = availabilityIndex;
+        this.fastFails = Counter.builder(FAST_FAILS_METRIC)
+            .description("Borrows refused from the availability index before reaching the database")
+            .register(meterRegistry);
+        this.alreadyBorrowed = meterRegistry.counter(BorrowServiceImpl.BORROW_REJECTIONS_METRIC, "reason", "already_borrowed");
+        this.reserved = meterRegistry.counter(BorrowServiceImpl.BORROW_REJECTIONS_METRIC, "reason", "reserved");
+    }
+
+    @Override
+    public BorrowRecord borrowBook(Long borrowerId, Long bookId) {
+        if (borrowerId == null || bookId == null || bookId < 1) {
+            // No such book: let the delegate reject it with the usual message
+            return delegate.borrowBook(borrowerId, bookId);
+        }
+        rejectIfUnavailable(borrowerId, bookId);
+        return bookLocks.withLock(bookId, () -> {
+            // The request that held the lock before us may have just borrowed it
+            rejectIfUnavailable(borrowerId, bookId);
+            return delegate.borrowBook(borrowerId, bookId);
+        });
+    }
+
+    @Override
+    public BorrowRecord returnBook(Long borrowerId, Long bookId) {
+        if (borrowerId == null || bookId == null) {
+            return delegate.returnBook(borrowerId, bookId);
+        }
+        return bookLocks.withLock(bookId, () -> delegate.returnBook(borrowerId, bookId));
+    }
+
+    @Override
+    public List<OperationResult<BorrowRecord>> borrowBooks(Long borrowerId, List<Long> bookIds) {
+        return delegate.borrowBooks(borrowerId, bookIds);
+    }
+
+    @Override
+    public List<OperationResult<BorrowRecord>> returnBooks(Long borrowerId, List<Long> bookIds) {
+        return delegate.returnBooks(borrowerId, bookIds);
+    }
+
+    @Override
+    public List<LoanResponse> getLoans(Long borrowerId, LoanStatus status, Long afterId, int limit) {
+        return delegate.getLoans(borrowerId, status, afterId, limit);
+    }
+
+    private void rejectIfUnavailable(Long borrowerId, Long bookId) {
+        if (bookLocks.isSharedAcrossInstances() || availabilityIndex.isAvailable(bookId)) {
+            return;
+        }
+        Long reservedFor = availabilityIndex.reservedFor(bookId);
+        if (reservedFor == null) {
+            fastFails.increment();
+            alreadyBorrowed.increment();
+            throw new IllegalStateException("Book with ID " + bookId + " is already borrowed");
+        }
+        if (!reservedFor.equals(borrowerId)) {
+            fastFails.increment();
+            reserved.increment();
+            throw new IllegalStateException("Book with ID " + bookId + " is being kept for another borrower");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.repository.ReactiveBookRepository;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.CatalogSearchIndex;
+import com.assessment.librarySystem.service.interfaces.ReactiveCatalogService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.assessment.librarySystem.service.impl.BookServiceImpl.MAX_PAGE_SIZE;
+
+/**
+ * Implementation of ReactiveCatalogService.
+ * Not transactional: every read is a single statement, and the JPA transaction manager would tie up a JDBC connection.
+ */
+@Service
+public class ReactiveCatalogServiceImpl implements ReactiveCatalogService {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final CatalogSearchIndex catalogSearchIndex;
+
+    public ReactiveCatalogServiceImpl(ReactiveBookRepository reactiveBookRepository, AvailabilityIndex availabilityIndex,
+                                      CatalogSearchIndex catalogSearchIndex) {
+        this.reactiveBookRepository = reactiveBookRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.catalogSearchIndex = catalogSearchIndex;
+    }
+
+    @Override
+    public Flux<BookResponse> getCatalog(Long afterId, Integer limit) {
+        long cursor = afterId == null ? 0L : afterId;
+        if (limit == null) {
+            return reactiveBookRepository.streamCatalogAfter(cursor).map(this::toCatalogResponse);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return reactiveBookRepository.findCatalogAfter(cursor, limit).map(this::toCatalogResponse);
+    }
+
+    @Override
+    public Mono<BookResponse> getBook(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+        return reactiveBookRepository.findCatalogEntryById(id).map(this::toCatalogResponse);
+    }
+
+    @Override
+    public Flux<BookResponse> searchCatalog(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Search offset cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // The index is in memory, so searching up front costs no I/O and reports bad queries before the response starts
+        return Flux.fromIterable(catalogSearchIndex.search(query, offset, limit).items())
+                .map(this::toCatalogResponse);
+    }
+
+    private BookResponse toCatalogResponse(CatalogEntry entry) {
+        return new BookResponse(entry.id(), entry.isbn(), entry.title(), entry.author(),
+            availabilityIndex.isAvailable(entry.id()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.assessment.librarySystem.service.impl;
+
+import com.assessment.librarySystem.config.BorrowContentionProperties;
+import com.assessment.librarySystem.service.interfaces.BookLocks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of BookLocks over a fixed array of locks, with each book hashed onto one of them.
+ * Books sharing a stripe occasionally wait on each other, in exchange for a bounded number of locks.
+ * <p>
+ * In advisory mode the action also runs in a transaction that first takes
+ * {@code pg_advisory_xact_lock(BOOK_LOCK_NAMESPACE, bookId)}, which PostgreSQL releases at commit or rollback.
+ * The in-process lock still comes first, so each instance has at most one connection per book waiting on it.
+ * <p>
+ * Publishes library.borrow.lock.wait (time to acquire, tagged outcome=acquired|timeout) and
+ * library.borrow.lock.waiting (requests currently queued for a book).
+ */
+public class StripedBookLocks implements BookLocks {
+
+    public static final String LOCK_WAIT_METRIC = "library.borrow.lock.wait";
+    public static final String LOCK_WAITING_METRIC = "library.borrow.lock.waiting";
+
+    /** First key of the two-key advisory lock form, keeping book locks apart from other advisory lock users */
+    public static final int BOOK_LOCK_NAMESPACE = 0x424F4F4B;
+
+    private final ReentrantLock[] stripes;
+    private final long maxWaitMillis;
+    private final boolean advisory;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer acquired;
+    private final Timer timedOut;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public StripedBookLocks(BorrowContentionProperties properties, PlatformTransactionManager transactionManager,
+                            JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        if (properties.stripes() < 1) {
+            throw new IllegalArgumentException("library.borrow.contention.stripes must be at least 1");
+        }
+        this.stripes = new ReentrantLock[properties.stripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.maxWaitMillis = properties.maxWait().toMillis();
+        this.advisory = properties.mode() == BorrowContentionProperties.Mode.ADVISORY;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.acquired = lockWaitTimer(meterRegistry, "acquired");
+        this.timedOut = lockWaitTimer(meterRegistry, "timeout");
+        Gauge.builder(LOCK_WAITING_METRIC, waiting, AtomicInteger::get)
+            .description("Requests waiting for a book lock")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T withLock(Long bookId, Supplier<T> action) {
+        ReentrantLock stripe = stripes[Math.floorMod(Long.hashCode(bookId), stripes.length)];
+        acquire(stripe, bookId);
+        try {
+            if (!advisory) {
+                return action.get();
+            }
+            return transactionTemplate.execute(status -> {
+                lockAcrossInstances(bookId);
+                return action.get();
+            });
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public boolean isSharedAcrossInstances() {
+        return advisory;
+    }
+
+    private void acquire(ReentrantLock stripe, Long bookId) {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean locked;
+        try {
+            locked = stripe.tryLock(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy(bookId);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        (locked ? acquired : timedOut).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!locked) {
+            throw busy(bookId);
+        }
+    }
+
+    /**
+     * Wait at most max-wait for other instances' holders; lock_timeout is scoped to the transaction
+     */
+    private void lockAcrossInstances(Long bookId) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.query("SELECT set_config('lock_timeout', ?, true)", rs -> null, maxWaitMillis + "ms");
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null, BOOK_LOCK_NAMESPACE, Long.hashCode(bookId));
+        } catch (PessimisticLockingFailureException e) {
+            timedOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw busy(bookId);
+        }
+    }
+
+    private IllegalStateException busy(Long bookId) {
+        return new IllegalStateException("Book with ID " + bookId + " is in high demand; please try again");
+    }
+
+    private static Timer lockWaitTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(LOCK_WAIT_METRIC)
+            .description("Time spent waiting for a book lock")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.assessment.librarySystem.service.interfaces;
+
+/**
+ * In-memory index of which books are on loan or kept for a borrower by a hold, answering availability
+ * without a database round trip. It is rebuilt from active loans and ready holds at startup, kept current
+ * by committed borrows, returns and holds, and periodically reconciled against the database.
+ */
+public interface AvailabilityIndex {
+    
+    /**
+     * Check whether a book is free to borrow according to the index
+     * @param bookId The book's ID
+     * @return false if the book has an active loan or is being kept for a borrower
+     */
+    boolean isAvailable(Long bookId);
+    
+    /**
+     * Find who a book is being kept for according to the index
+     * @param bookId The book's ID
+     * @return The borrower's ID, or null if the book is not being kept for anyone
+     */
+    Long reservedFor(Long bookId);
+    
+    /**
+     * Reload the index from the active loans and ready holds in the database
+     * @return Number of books whose availability was corrected
+     */
+    long rebuild();
+}
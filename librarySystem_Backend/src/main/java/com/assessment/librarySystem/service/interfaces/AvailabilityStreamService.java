@@ -0,0 +1,30 @@
+package com.assessment.librarySystem.service.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+/**
+ * Pushes book availability to clients over server-sent events, so they can wait for a book to come back
+ * instead of polling the catalog. Changes are taken from committed borrows, returns and holds on this instance.
+ */
+public interface AvailabilityStreamService {
+    
+    /** Name of the events carrying an {@link com.assessment.librarySystem.dto.response.AvailabilityUpdate} */
+    String AVAILABILITY_EVENT = "availability";
+    
+    /**
+     * Open a stream of availability updates for the given books. Each book's current availability is sent
+     * first, then an update whenever it changes.
+     * @param bookIds The books to watch
+     * @return The emitter to return from the request handler
+     * @throws IllegalArgumentException if no books, too many books or an unknown book is given
+     * @throws IllegalStateException if this instance already serves the maximum number of streams
+     */
+    SseEmitter subscribe(Collection<Long> bookIds);
+    
+    /**
+     * Number of streams currently open on this instance
+     */
+    int subscriberCount();
+}
@@ -0,0 +1,25 @@
+package com.assessment.librarySystem.service.interfaces;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-book mutual exclusion for work that must not race on the same title, such as borrowing it
+ */
+public interface BookLocks {
+    
+    /**
+     * Run an action while holding a book's lock. The lock is released only after the action returns,
+     * so a transaction the action runs has committed (and its events been handled) before the next holder starts.
+     * @param bookId The book to lock
+     * @param action The work to do under the lock
+     * @return The action's result
+     * @throws IllegalStateException if the lock could not be acquired in time
+     */
+    <T> T withLock(Long bookId, Supplier<T> action);
+    
+    /**
+     * Check whether the lock also excludes other instances of the application
+     * @return true if holders on other instances are excluded too
+     */
+    boolean isSharedAcrossInstances();
+}
@@ -1,9 +1,13 @@
 package com.assessment.librarySystem.service.interfaces;
 
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.dto.response.BookResponse;
 import com.assessment.librarySystem.model.Book;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service interface for book management operations.
@@ -20,10 +24,52 @@ public interface BookService {
     Book registerBook(Book book);
     
     /**
-     * Retrieve all books from the system
-     * @return List of all registered books
+     * Register a batch of books in one transaction. Every book is validated with the same rules as
+     * {@link #registerBook(Book)}; ISBN consistency is checked with a single lookup for the whole batch,
+     * and accepted books are inserted together.
+     * @param books The books to register
+     * @return One result per book, in input order; failures carry an {@link com.assessment.librarySystem.common.ErrorCodes} code
      */
-    List<Book> getAllBooks();
+    List<OperationResult<Book>> registerBooks(List<Book> books);
+    
+    /**
+     * Retrieve the whole catalog with each book's current availability
+     * @return Every book, ordered by ID
+     */
+    List<BookResponse> getCatalog();
+    
+    /**
+     * Retrieve one keyset page of the catalog ordered by ID
+     * @param afterId Only books with an ID greater than this are returned; null starts from the beginning
+     * @param limit Maximum number of books in the page
+     * @return Up to {@code limit} books following {@code afterId}
+     * @throws IllegalArgumentException if limit is out of range
+     */
+    List<BookResponse> getCatalogPage(Long afterId, int limit);
+    
+    /**
+     * Full-text search over titles and authors, ranked by relevance (see {@link com.assessment.librarySystem.service.interfaces.CatalogSearchIndex})
+     * @param query Free-text query; the last letters of each term may be omitted
+     * @param offset Number of ranked hits to skip
+     * @param limit Maximum number of books to return
+     * @return The requested page of matching books and the total number of matches
+     * @throws IllegalArgumentException if the query is blank or has too many terms, or offset/limit is out of range
+     */
+    PagedResult<BookResponse> searchCatalog(String query, int offset, int limit);
+    
+    /**
+     * Stream the whole catalog in ID order to the given consumer without materializing it
+     * @param action Callback invoked once per book
+     */
+    void forEachCatalogEntry(Consumer<BookResponse> action);
+    
+    /**
+     * Look up one book with its current availability, without loading the entity
+     * @param id The book's ID
+     * @return Optional containing the book if found
+     * @throws IllegalArgumentException if id is null
+     */
+    Optional<BookResponse> getCatalogEntry(Long id);
     
     /**
      * Find a book by its unique ID (needed for borrow/return operations)
@@ -1,7 +1,12 @@
 package com.assessment.librarySystem.service.interfaces;
 
+import com.assessment.librarySystem.common.LoanStatus;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.LoanResponse;
 import com.assessment.librarySystem.model.BorrowRecord;
 
+import java.util.List;
+
 /**
  * Service interface for borrow management operations.
  * Only includes methods needed for the 5 required endpoints.
@@ -13,7 +18,8 @@ public interface BorrowService {
      * @param borrowerId The ID of the borrower
      * @param bookId The ID of the book to borrow
      * @return The created borrow record
-     * @throws IllegalArgumentException if borrower or book doesn't exist, or book is already borrowed
+     * @throws IllegalArgumentException if borrower or book doesn't exist
+     * @throws IllegalStateException if the book is already borrowed
      */
     BorrowRecord borrowBook(Long borrowerId, Long bookId);
     
@@ -25,4 +31,33 @@ public interface BorrowService {
      * @throws IllegalArgumentException if no active borrow record exists
      */
     BorrowRecord returnBook(Long borrowerId, Long bookId);
+    
+    /**
+     * Borrow several books for one borrower in a single transaction
+     * @param borrowerId The ID of the borrower
+     * @param bookIds The IDs of the books to borrow
+     * @return One result per book ID, in input order; failures carry an {@link com.assessment.librarySystem.common.ErrorCodes} code
+     * @throws IllegalArgumentException if the borrower doesn't exist or no book IDs are given
+     */
+    List<OperationResult<BorrowRecord>> borrowBooks(Long borrowerId, List<Long> bookIds);
+    
+    /**
+     * Return several books for one borrower in a single transaction
+     * @param borrowerId The ID of the borrower
+     * @param bookIds The IDs of the books to return
+     * @return One result per book ID, in input order; failures carry an {@link com.assessment.librarySystem.common.ErrorCodes} code
+     * @throws IllegalArgumentException if the borrower doesn't exist or no book IDs are given
+     */
+    List<OperationResult<BorrowRecord>> returnBooks(Long borrowerId, List<Long> bookIds);
+    
+    /**
+     * Retrieve one keyset page of a borrower's loans, newest first
+     * @param borrowerId The ID of the borrower
+     * @param status Only active or only returned loans; null for both
+     * @param afterId Only loans that sort after this borrow record are returned; null starts from the newest
+     * @param limit Maximum number of loans in the page
+     * @return Up to {@code limit} loans following {@code afterId}
+     * @throws IllegalArgumentException if the borrower doesn't exist or limit is out of range
+     */
+    List<LoanResponse> getLoans(Long borrowerId, LoanStatus status, Long afterId, int limit);
 }
@@ -1,7 +1,10 @@
 package com.assessment.librarySystem.service.interfaces;
 
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
 import com.assessment.librarySystem.model.Borrower;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,6 +21,25 @@ public interface BorrowerService {
      */
     Borrower registerBorrower(Borrower borrower);
     
+    /**
+     * Register a batch of borrowers in one transaction. Every borrower is validated with the same rules as
+     * {@link #registerBorrower(Borrower)}; repeated emails within the batch and emails already registered
+     * (checked with a single lookup for the whole batch) are reported as conflicts, and the rest are inserted together.
+     * If a concurrent registration claims one of the emails between the lookup and the insert, the batch is
+     * rolled back and run once more, which reports that email as a conflict.
+     * @param borrowers The borrowers to register
+     * @return One result per borrower, in input order; failures carry an {@link com.assessment.librarySystem.common.ErrorCodes} code
+     */
+    List<OperationResult<Borrower>> registerBorrowers(List<Borrower> borrowers);
+    
+    /**
+     * Look up one borrower for display, without loading the entity
+     * @param id The borrower's ID
+     * @return Optional containing the borrower if found
+     * @throws IllegalArgumentException if id is null
+     */
+    Optional<BorrowerResponse> getBorrowerSummary(Long id);
+    
     /**
      * Find a borrower by their unique ID (needed for borrow/return operations)
      * @param id The borrower's ID
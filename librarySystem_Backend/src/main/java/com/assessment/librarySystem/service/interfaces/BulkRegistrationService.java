@@ -0,0 +1,45 @@
+package com.assessment.librarySystem.service.interfaces;
+
+import com.assessment.librarySystem.common.BulkFormat;
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
+import com.assessment.librarySystem.dto.response.BulkOperationResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk imports of books and borrowers.
+ * Rows are read one at a time from the payload, Bean-validated like single registrations, and handed to
+ * BookService / BorrowerService in chunks of {@link #CHUNK_SIZE}, so at most one chunk of parsed rows is held.
+ * The per-row results are kept for the whole import, since the response reports every row; that is what
+ * {@link #MAX_ROWS} bounds.
+ */
+public interface BulkRegistrationService {
+    
+    /** Rows registered per service call (and so per transaction) */
+    int CHUNK_SIZE = 1000;
+    
+    /** Rows accepted in one import; a multiple of CHUNK_SIZE, so a rejected import stops on a chunk boundary */
+    int MAX_ROWS = 100_000;
+    
+    /**
+     * Register every book in the payload
+     * @param rows The payload; rows need isbn, title and author
+     * @param format How the payload is encoded
+     * @return One result per row, in payload order
+     * @throws IllegalArgumentException if the payload cannot be parsed or has more than {@link #MAX_ROWS} rows;
+     *         rows before the malformed (or first excess) one stay registered
+     */
+    BulkOperationResponse<BookResponse> registerBooks(InputStream rows, BulkFormat format) throws IOException;
+    
+    /**
+     * Register every borrower in the payload
+     * @param rows The payload; rows need name and email
+     * @param format How the payload is encoded
+     * @return One result per row, in payload order
+     * @throws IllegalArgumentException if the payload cannot be parsed or has more than {@link #MAX_ROWS} rows;
+     *         rows before the malformed (or first excess) one stay registered
+     */
+    BulkOperationResponse<BorrowerResponse> registerBorrowers(InputStream rows, BulkFormat format) throws IOException;
+}
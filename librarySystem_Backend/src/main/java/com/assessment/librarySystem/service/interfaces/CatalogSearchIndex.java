@@ -0,0 +1,29 @@
+package com.assessment.librarySystem.service.interfaces;
+
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+
+/**
+ * In-process full-text index over book titles and authors.
+ * It is built from the catalog at startup, updated as books are registered,
+ * and rebuilt if it no longer matches the database's book count.
+ */
+public interface CatalogSearchIndex {
+    
+    /**
+     * Find books whose title or author contains every query term, where the last letters of a term may be
+     * missing (prefix match). Results are ranked by relevance, with title matches weighted above author matches.
+     * @param query Free-text query
+     * @param offset Number of ranked hits to skip
+     * @param limit Maximum number of hits to return
+     * @return The requested slice of ranked hits and the total number of matches
+     * @throws IllegalArgumentException if the query has too many terms
+     */
+    PagedResult<CatalogEntry> search(String query, int offset, int limit);
+    
+    /**
+     * Re-index every book in the database
+     * @return Number of books indexed
+     */
+    long rebuild();
+}
@@ -0,0 +1,43 @@
+package com.assessment.librarySystem.service.interfaces;
+
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.dto.response.HoldResponse;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Service interface for the per-book hold queues.
+ * A borrower who finds a book out places a hold instead of retrying the borrow. When the book is returned,
+ * the oldest waiting hold becomes ready in the same transaction and the book is kept for that borrower
+ * until they borrow it or the pickup window runs out, after which it passes to the next in line.
+ */
+public interface HoldService {
+    
+    /**
+     * Join a book's queue
+     * @param bookId The ID of the book
+     * @param borrowerId The ID of the borrower
+     * @return The new hold and its position in the queue
+     * @throws IllegalArgumentException if borrower or book doesn't exist
+     * @throws IllegalStateException if the book is free to borrow, or the borrower already has it or a hold on it
+     */
+    HoldResponse placeHold(Long bookId, Long borrowerId);
+    
+    /**
+     * Set each book aside for the borrower at the front of its queue, if it has one.
+     * Must run in the transaction that frees the books.
+     * @param bookIds The IDs of books that have just become free
+     * @return The reservation made for each book that had a queue; books without one are absent
+     */
+    Map<Long, BookStatus.Reserved> handOff(Collection<Long> bookIds);
+    
+    /**
+     * Close the borrower's ready holds on books they are borrowing.
+     * Must run in the transaction that creates the loans.
+     * @param borrowerId The ID of the borrower
+     * @param bookIds The IDs of books being kept for them
+     * @return Number of holds closed
+     */
+    int fulfil(Long borrowerId, Collection<Long> bookIds);
+}
@@ -0,0 +1,40 @@
+package com.assessment.librarySystem.service.interfaces;
+
+import com.assessment.librarySystem.dto.response.BookResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only view of the catalog backing the v2 API.
+ * Books come from R2DBC and availability from the in-memory {@link AvailabilityIndex},
+ * so serving a request never occupies a JDBC connection or a request thread while waiting on the database.
+ */
+public interface ReactiveCatalogService {
+
+    /**
+     * Books in ID order following a keyset cursor
+     * @param afterId Only books with an ID greater than this are returned; null starts from the beginning
+     * @param limit Maximum number of books; null streams every remaining book as the subscriber requests them
+     * @return The books, emitted in ID order
+     * @throws IllegalArgumentException if limit is out of range
+     */
+    Flux<BookResponse> getCatalog(Long afterId, Integer limit);
+
+    /**
+     * Find one book with its current availability
+     * @param id The book's ID
+     * @return The book, or empty if no book has this ID
+     * @throws IllegalArgumentException if id is null
+     */
+    Mono<BookResponse> getBook(Long id);
+
+    /**
+     * Full-text search over titles and authors, ranked by relevance (see {@link CatalogSearchIndex})
+     * @param query Free-text query; the last letters of each term may be omitted
+     * @param offset Number of ranked hits to skip
+     * @param limit Maximum number of books to return
+     * @return The requested page of matching books, best match first
+     * @throws IllegalArgumentException if the query is blank or has too many terms, or offset/limit is out of range
+     */
+    Flux<BookResponse> searchCatalog(String query, int offset, int limit);
+}
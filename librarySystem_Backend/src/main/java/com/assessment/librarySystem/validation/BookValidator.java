@@ -0,0 +1,41 @@
+package com.assessment.librarySystem.validation;
+
+import com.assessment.librarySystem.common.ValidationResult;
+import com.assessment.librarySystem.model.Book;
+
+import java.util.List;
+
+import static com.assessment.librarySystem.validation.ValidationSupport.addError;
+import static com.assessment.librarySystem.validation.ValidationSupport.isBlank;
+
+/**
+ * Field rules for registering a book. Every rule is checked, so one result reports all problems.
+ */
+public final class BookValidator {
+    
+    private BookValidator() {}
+    
+    public static ValidationResult validate(Book book) {
+        if (book == null) {
+            return ValidationResult.invalid("Book cannot be null");
+        }
+        
+        List<String> errors = null;
+        if (isBlank(book.getTitle())) {
+            errors = addError(errors, "Book title is required");
+        }
+        if (isBlank(book.getAuthor())) {
+            errors = addError(errors, "Book author is required");
+        }
+        if (isBlank(book.getIsbn())) {
+            errors = addError(errors, "Book ISBN is required");
+        } else {
+            switch (IsbnValidator.check(book.getIsbn())) {
+                case INVALID_FORMAT -> errors = addError(errors, "Invalid ISBN format");
+                case INVALID_CHECKSUM -> errors = addError(errors, "Invalid ISBN checksum");
+                case VALID -> { }
+            }
+        }
+        return errors == null ? ValidationResult.valid() : ValidationResult.invalid(errors);
+    }
+}
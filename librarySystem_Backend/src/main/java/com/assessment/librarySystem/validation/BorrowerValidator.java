@@ -0,0 +1,40 @@
+package com.assessment.librarySystem.validation;
+
+import com.assessment.librarySystem.common.ValidationResult;
+import com.assessment.librarySystem.model.Borrower;
+
+import java.util.List;
+
+import static com.assessment.librarySystem.validation.ValidationSupport.addError;
+import static com.assessment.librarySystem.validation.ValidationSupport.isBlank;
+
+/**
+ * Field rules for registering a borrower. Every rule is checked, so one result reports all problems.
+ */
+public final class BorrowerValidator {
+    
+    public static final int MIN_NAME_LENGTH = 2;
+    public static final int MAX_NAME_LENGTH = 100;
+    
+    private BorrowerValidator() {}
+    
+    public static ValidationResult validate(Borrower borrower) {
+        if (borrower == null) {
+            return ValidationResult.invalid("Borrower cannot be null");
+        }
+        
+        List<String> errors = null;
+        String name = borrower.getName();
+        if (isBlank(name)) {
+            errors = addError(errors, "Borrower name is required");
+        } else if (name.length() < MIN_NAME_LENGTH || name.length() > MAX_NAME_LENGTH) {
+            errors = addError(errors, "Borrower name must be between " + MIN_NAME_LENGTH + " and " + MAX_NAME_LENGTH + " characters");
+        }
+        if (isBlank(borrower.getEmail())) {
+            errors = addError(errors, "Borrower email is required");
+        } else if (!EmailValidator.isValid(borrower.getEmail())) {
+            errors = addError(errors, "Invalid email format");
+        }
+        return errors == null ? ValidationResult.valid() : ValidationResult.invalid(errors);
+    }
+}
@@ -0,0 +1,17 @@
+package com.assessment.librarySystem.validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * Email format check with the pattern compiled once instead of on every call
+ */
+public final class EmailValidator {
+    
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+    
+    private EmailValidator() {}
+    
+    public static boolean isValid(CharSequence email) {
+        return EMAIL.matcher(email).matches();
+    }
+}
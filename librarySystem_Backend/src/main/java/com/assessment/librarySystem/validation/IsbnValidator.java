@@ -0,0 +1,70 @@
+package com.assessment.librarySystem.validation;
+
+/**
+ * Checksum validation for ISBN-10 and ISBN-13 in a single pass over the characters, without regexes or copies.
+ * Spaces and hyphens are ignored, so "978-0134685991" and "978 0 13 468599 1" are both accepted.
+ */
+public final class IsbnValidator {
+    
+    /**
+     * Outcome of checking one ISBN
+     */
+    public enum Result {
+        VALID,
+        /** Not 10 or 13 digits (ISBN-10 may end in X) once separators are ignored */
+        INVALID_FORMAT,
+        /** Well-formed, but the check digit does not match */
+        INVALID_CHECKSUM
+    }
+    
+    private IsbnValidator() {}
+    
+    public static boolean isValid(CharSequence isbn) {
+        return check(isbn) == Result.VALID;
+    }
+    
+    public static Result check(CharSequence isbn) {
+        int digits = 0;
+        // Both sums are kept while scanning, so the length does not need to be known up front
+        int sum10 = 0;
+        int sum13 = 0;
+        boolean endsWithX = false;
+        
+        for (int i = 0, length = isbn.length(); i < length; i++) {
+            char c = isbn.charAt(i);
+            if (isSeparator(c)) {
+                continue;
+            }
+            if (endsWithX) {
+                return Result.INVALID_FORMAT;
+            }
+            int value;
+            if (c >= '0' && c <= '9') {
+                value = c - '0';
+            } else if ((c == 'X' || c == 'x') && digits == 9) {
+                value = 10;
+                endsWithX = true;
+            } else {
+                return Result.INVALID_FORMAT;
+            }
+            if (++digits > 13) {
+                return Result.INVALID_FORMAT;
+            }
+            sum10 += value * (11 - digits);
+            sum13 += (digits & 1) == 1 ? value : value * 3;
+        }
+        
+        if (digits == 10) {
+            return sum10 % 11 == 0 ? Result.VALID : Result.INVALID_CHECKSUM;
+        }
+        if (digits == 13 && !endsWithX) {
+            return sum13 % 10 == 0 ? Result.VALID : Result.INVALID_CHECKSUM;
+        }
+        return Result.INVALID_FORMAT;
+    }
+    
+    /** The characters the previous regex-based check stripped: whitespace (\s) and hyphens */
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
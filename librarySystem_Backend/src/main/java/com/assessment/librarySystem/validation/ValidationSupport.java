@@ -0,0 +1,23 @@
+package com.assessment.librarySystem.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the field validators
+ */
+final class ValidationSupport {
+    
+    private ValidationSupport() {}
+    
+    static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
+    /** The error list is only allocated once something fails, so valid input costs no allocation */
+    static List<String> addError(List<String> errors, String error) {
+        List<String> list = errors == null ? new ArrayList<>(2) : errors;
+        list.add(error);
+        return list;
+    }
+}
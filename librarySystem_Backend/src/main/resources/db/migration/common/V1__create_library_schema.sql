@@ -0,0 +1,27 @@
+-- Baseline schema, matching what Hibernate generated before migrations were introduced.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE books (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    isbn VARCHAR(255) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    author VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE borrowers (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_borrowers_email UNIQUE (email)
+);
+
+CREATE TABLE borrow_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    borrower_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    borrow_date TIMESTAMP(6) NOT NULL,
+    return_date TIMESTAMP(6),
+    is_returned BOOLEAN NOT NULL,
+    CONSTRAINT fk_borrow_records_borrower FOREIGN KEY (borrower_id) REFERENCES borrowers (id),
+    CONSTRAINT fk_borrow_records_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
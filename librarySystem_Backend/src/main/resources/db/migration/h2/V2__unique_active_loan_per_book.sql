@@ -0,0 +1,9 @@
+-- A book can have at most one active (unreturned) loan.
+-- H2 has no partial indexes, so index a generated column that is only set while the loan is active;
+-- NULLs never collide in a unique index.
+
+ALTER TABLE borrow_records
+    ADD COLUMN active_book_id BIGINT GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN book_id END);
+
+CREATE UNIQUE INDEX ux_borrow_records_active_book
+    ON borrow_records (active_book_id);
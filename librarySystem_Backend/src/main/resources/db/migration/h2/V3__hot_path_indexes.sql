@@ -0,0 +1,15 @@
+-- Indexes for the queries that run on every write.
+-- H2 has no partial indexes, so the active-loan index covers all rows here.
+
+-- BookRepository.findByIsbn (ISBN consistency check on registration)
+CREATE INDEX idx_books_isbn ON books (isbn);
+
+-- BorrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull (return path)
+CREATE INDEX idx_borrow_records_active_borrower_book
+    ON borrow_records (borrower_id, book_id);
+
+-- BorrowRecordRepository.findByBookIdAndReturnDateIsNull (borrow/return path). PostgreSQL answers it from
+-- the partial unique index ux_borrow_records_active_book (V2); here that index is on a generated column
+-- the query does not name, so give the lookup an index of its own.
+CREATE INDEX idx_borrow_records_active_book
+    ON borrow_records (book_id, return_date);
@@ -0,0 +1,14 @@
+-- Switch primary keys from IDENTITY to sequences so Hibernate can batch inserts.
+-- Sequences advance by 50 to match allocationSize on the entities (pooled optimizer).
+-- H2 is only used for fresh embedded databases, so there are no existing rows to skip past.
+
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE borrowers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE borrow_records_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE books ALTER COLUMN id SET DEFAULT NEXT VALUE FOR books_seq;
+ALTER TABLE borrowers ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE borrowers ALTER COLUMN id SET DEFAULT NEXT VALUE FOR borrowers_seq;
+ALTER TABLE borrow_records ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE borrow_records ALTER COLUMN id SET DEFAULT NEXT VALUE FOR borrow_records_seq;
@@ -0,0 +1,5 @@
+-- BorrowRecordRepository.findLoans / findLoansAfter (GET /borrowers/{id}/loans).
+-- Kept for parity with PostgreSQL; H2's planner still prefers the borrower foreign key
+-- index here and sorts, which is fine at test data sizes.
+CREATE INDEX idx_borrow_records_borrower_history
+    ON borrow_records (borrower_id, borrow_date DESC, id DESC);
@@ -0,0 +1,31 @@
+-- Hold queue: borrowers waiting for a book that is out. On return the oldest waiting hold
+-- becomes READY and the book is kept for that borrower until they borrow it or the hold expires.
+-- H2 has no partial indexes, so the uniqueness rules index generated columns that are only
+-- set while the hold is open (as in V2); NULLs never collide in a unique index.
+
+CREATE SEQUENCE book_holds_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE book_holds (
+    id BIGINT DEFAULT NEXT VALUE FOR book_holds_seq PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    borrower_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    ready_at TIMESTAMP(6),
+    open_borrower_id BIGINT GENERATED ALWAYS AS (CASE WHEN status IN ('WAITING', 'READY') THEN borrower_id END),
+    ready_book_id BIGINT GENERATED ALWAYS AS (CASE WHEN status = 'READY' THEN book_id END),
+    CONSTRAINT fk_book_holds_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_holds_borrower FOREIGN KEY (borrower_id) REFERENCES borrowers (id)
+);
+
+-- One open hold per borrower and book
+CREATE UNIQUE INDEX ux_book_holds_open_borrower_book
+    ON book_holds (book_id, open_borrower_id);
+
+-- At most one borrower a book is being kept for
+CREATE UNIQUE INDEX ux_book_holds_ready_book
+    ON book_holds (ready_book_id);
+
+-- BookHoldRepository.findNextInQueue: a book's queue in arrival order
+CREATE INDEX idx_book_holds_queue
+    ON book_holds (book_id, created_at, id);
@@ -0,0 +1,30 @@
+-- A book can have at most one active (unreturned) loan.
+
+-- The old check-then-insert race may have left a book with several active loans. Which of them
+-- is real can only be settled by someone who knows what happened, so refuse to migrate and name
+-- the books instead of closing loans here. Set return_date/is_returned on the loans that should
+-- not be active, then run the migration again.
+DO $$
+DECLARE
+    conflicting TEXT;
+BEGIN
+    SELECT string_agg(book_id::TEXT, ', ' ORDER BY book_id)
+    INTO conflicting
+    FROM (
+        SELECT book_id
+        FROM borrow_records
+        WHERE return_date IS NULL
+        GROUP BY book_id
+        HAVING COUNT(*) > 1
+    ) duplicated;
+
+    IF conflicting IS NOT NULL THEN
+        RAISE EXCEPTION 'Books with more than one active loan: %', conflicting
+            USING HINT = 'Close the extra loans (set return_date and is_returned) and re-run the migration';
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX ux_borrow_records_active_book
+    ON borrow_records (book_id)
+    WHERE return_date IS NULL;
@@ -0,0 +1,13 @@
+-- Indexes for the queries that run on every write.
+
+-- BookRepository.findByIsbn (ISBN consistency check on registration)
+CREATE INDEX idx_books_isbn ON books (isbn);
+
+-- BorrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull (return path).
+-- Only active loans are ever looked up this way, so keep returned history out of the index.
+CREATE INDEX idx_borrow_records_active_borrower_book
+    ON borrow_records (borrower_id, book_id)
+    WHERE return_date IS NULL;
+
+-- findByBookIdAndReturnDateIsNull and the availability anti-join are served by the
+-- partial unique index ux_borrow_records_active_book (V2); borrowers.email by uk_borrowers_email.
@@ -0,0 +1,25 @@
+-- Switch primary keys from IDENTITY to sequences so Hibernate can batch inserts.
+-- Sequences advance by 50 to match allocationSize on the entities (pooled optimizer):
+-- each nextval reserves the block (value - 49 .. value) for the caller.
+
+CREATE SEQUENCE books_seq INCREMENT BY 50;
+CREATE SEQUENCE borrowers_seq INCREMENT BY 50;
+CREATE SEQUENCE borrow_records_seq INCREMENT BY 50;
+
+-- Start past existing rows; the first block handed out begins at MAX(id) + 1
+SELECT setval('books_seq', COALESCE((SELECT MAX(id) FROM books), 0) + 50, false);
+SELECT setval('borrowers_seq', COALESCE((SELECT MAX(id) FROM borrowers), 0) + 50, false);
+SELECT setval('borrow_records_seq', COALESCE((SELECT MAX(id) FROM borrow_records), 0) + 50, false);
+
+-- Rows inserted outside Hibernate take a whole block's upper bound, which the pooled
+-- optimizer never hands out to anyone else
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE books ALTER COLUMN id SET DEFAULT nextval('books_seq');
+ALTER TABLE borrowers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE borrowers ALTER COLUMN id SET DEFAULT nextval('borrowers_seq');
+ALTER TABLE borrow_records ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE borrow_records ALTER COLUMN id SET DEFAULT nextval('borrow_records_seq');
+
+ALTER SEQUENCE books_seq OWNED BY books.id;
+ALTER SEQUENCE borrowers_seq OWNED BY borrowers.id;
+ALTER SEQUENCE borrow_records_seq OWNED BY borrow_records.id;
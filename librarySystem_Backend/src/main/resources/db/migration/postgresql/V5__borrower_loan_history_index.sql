@@ -0,0 +1,5 @@
+-- BorrowRecordRepository.findLoans / findLoansAfter (GET /borrowers/{id}/loans).
+-- Matches the ORDER BY borrow_date DESC, id DESC of the keyset pages, so each page is an
+-- index range scan from the cursor instead of a sort of the borrower's whole history.
+CREATE INDEX idx_borrow_records_borrower_history
+    ON borrow_records (borrower_id, borrow_date DESC, id DESC);
@@ -0,0 +1,33 @@
+-- Hold queue: borrowers waiting for a book that is out. On return the oldest waiting hold
+-- becomes READY and the book is kept for that borrower until they borrow it or the hold expires.
+
+CREATE SEQUENCE book_holds_seq INCREMENT BY 50;
+
+CREATE TABLE book_holds (
+    id BIGINT DEFAULT nextval('book_holds_seq') PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    borrower_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    ready_at TIMESTAMP(6),
+    CONSTRAINT fk_book_holds_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_holds_borrower FOREIGN KEY (borrower_id) REFERENCES borrowers (id)
+);
+
+ALTER SEQUENCE book_holds_seq OWNED BY book_holds.id;
+
+-- One open hold per borrower and book
+CREATE UNIQUE INDEX ux_book_holds_open_borrower_book
+    ON book_holds (book_id, borrower_id)
+    WHERE status IN ('WAITING', 'READY');
+
+-- At most one borrower a book is being kept for; also serves the READY lookups on borrow
+CREATE UNIQUE INDEX ux_book_holds_ready_book
+    ON book_holds (book_id)
+    WHERE status = 'READY';
+
+-- BookHoldRepository.findNextInQueue: a book's queue in arrival order. Finished holds
+-- are history and stay out of the index, so it only ever holds the live queues.
+CREATE INDEX idx_book_holds_queue
+    ON book_holds (book_id, created_at, id)
+    WHERE status = 'WAITING';
@@ -0,0 +1,6 @@
+-- BorrowRecordRepository.findUnreturnedLoans / findUnreturnedLoansAfter (GET /borrowers/{id}/loans?status=active).
+-- A borrower has a handful of open loans among a long history; indexing only those rows keeps
+-- the page a short range scan instead of filtering the whole history index for return_date IS NULL.
+CREATE INDEX idx_borrow_records_active_history
+    ON borrow_records (borrower_id, borrow_date DESC, id DESC)
+    WHERE return_date IS NULL;
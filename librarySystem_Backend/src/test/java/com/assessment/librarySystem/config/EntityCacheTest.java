@@ -0,0 +1,81 @@
+package com.assessment.librarySystem.config;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.interfaces.BookService;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "library.cache.enabled=true")
+@ActiveProfiles("test")
+class EntityCacheTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowerService borrowerService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        borrowerRepository.deleteAll();
+    }
+
+    @Test
+    void getBookById_ServedFromCacheAfterRegistration() {
+        // Given
+        Book book = bookService.registerBook(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+        double hitsBefore = hits(Book.CACHE_REGION);
+
+        // When
+        Book found = bookService.getBookById(book.getId()).orElseThrow();
+
+        // Then
+        assertEquals("Effective Java", found.getTitle());
+        assertTrue(entityCacheManager.getCache(Book.CACHE_REGION).iterator().hasNext());
+        assertEquals(hitsBefore + 1, hits(Book.CACHE_REGION));
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", Book.CACHE_REGION).meter());
+    }
+
+    @Test
+    void getBorrowerById_SeesUpdatesWrittenThroughHibernate() {
+        // Given
+        Borrower borrower = borrowerService.registerBorrower(new Borrower("John Doe", "john.cache@example.com"));
+        borrowerService.getBorrowerById(borrower.getId()).orElseThrow();
+
+        // When
+        borrower.setName("John Smith");
+        borrowerRepository.save(borrower);
+
+        // Then
+        assertEquals("John Smith", borrowerService.getBorrowerById(borrower.getId()).orElseThrow().getName());
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,107 @@
+package com.assessment.librarySystem.config;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.impl.BorrowServiceImpl;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsTest {
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        borrowRecordRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void borrowBook_RecordsServiceAndRepositoryTimersAndRejections() {
+        // Given
+        Borrower borrower = borrowerRepository.save(new Borrower("John Doe", "john.metrics@example.com"));
+        Book book = bookRepository.save(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+        long callsBefore = borrowBookCalls();
+        double rejectionsBefore = alreadyBorrowedRejections();
+
+        // When
+        borrowService.borrowBook(borrower.getId(), book.getId());
+        assertThrows(IllegalStateException.class, () -> borrowService.borrowBook(borrower.getId(), book.getId()));
+
+        // Then: the second borrow is refused from the availability index and never reaches BorrowServiceImpl
+        assertEquals(callsBefore + 1, borrowBookCalls());
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+            .tag("repository", "BorrowRecordRepository")
+            .tag("method", "findBorrowCandidate")
+            .timer());
+        assertEquals(rejectionsBefore + 1, alreadyBorrowedRejections());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+    }
+
+    @Test
+    void prometheusEndpoint_ExposesHistogramBuckets() throws Exception {
+        // Given
+        borrowerRepository.save(new Borrower("Jane Doe", "jane.metrics@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> borrowService.borrowBook(-1L, -1L));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("library_service_seconds_bucket")))
+                .andExpect(content().string(containsString(
+                    "library_borrow_rejections_total{reason=\"borrower_not_found\"}")));
+    }
+
+    /**
+     * Summed over every series: a rejected call is timed under its own exception tag
+     */
+    private long borrowBookCalls() {
+        return meterRegistry.find("library.service")
+            .tag("class", BorrowServiceImpl.class.getName())
+            .tag("method", "borrowBook")
+            .timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private double alreadyBorrowedRejections() {
+        return meterRegistry.get(BorrowServiceImpl.BORROW_REJECTIONS_METRIC).tag("reason", "already_borrowed").counter().count();
+    }
+}
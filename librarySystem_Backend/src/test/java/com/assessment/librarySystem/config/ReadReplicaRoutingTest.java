@@ -0,0 +1,127 @@
+package com.assessment.librarySystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes against two H2 databases: the usual test database as primary and a separate in-memory "replica"
+ * whose lag is whatever the replica_lag table says.
+ */
+@SpringBootTest(properties = {
+    "library.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1",
+    "library.datasource.replica.username=sa",
+    "library.datasource.replica.password=",
+    "library.datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+    "library.datasource.replica.check-interval=1h"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DOUBLE)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replicaHealthMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.execute("DROP TABLE IF EXISTS replica_lag");
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        // Given
+        double replicaConnectionsBefore = readOnlyConnections(DataSourceConfig.REPLICA_POOL);
+
+        // When
+        String readOnlyDatabase = currentDatabase(true);
+        String readWriteDatabase = currentDatabase(false);
+
+        // Then
+        assertTrue(replicaHealthMonitor.isAvailable());
+        assertEquals("REPLICADB", readOnlyDatabase);
+        assertEquals("TESTDB", readWriteDatabase);
+        assertEquals(replicaConnectionsBefore + 1, readOnlyConnections(DataSourceConfig.REPLICA_POOL));
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", DataSourceConfig.REPLICA_POOL).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", DataSourceConfig.PRIMARY_POOL).gauge());
+    }
+
+    @Test
+    void laggingReplica_ReadOnlyTransactionFallsBackToPrimary() {
+        // Given
+        replica.update("UPDATE replica_lag SET lag_seconds = 60");
+        replicaHealthMonitor.check();
+        double primaryConnectionsBefore = readOnlyConnections(DataSourceConfig.PRIMARY_POOL);
+
+        // When
+        String readOnlyDatabase = currentDatabase(true);
+
+        // Then
+        assertFalse(replicaHealthMonitor.isAvailable());
+        assertEquals("TESTDB", readOnlyDatabase);
+        assertEquals(primaryConnectionsBefore + 1, readOnlyConnections(DataSourceConfig.PRIMARY_POOL));
+        assertEquals(60.0, meterRegistry.get("library.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void failingLagCheck_TakesReplicaOutUntilItRecovers() {
+        // Given
+        replica.execute("DROP TABLE replica_lag");
+
+        // When
+        replicaHealthMonitor.check();
+
+        // Then
+        assertFalse(replicaHealthMonitor.isAvailable());
+        assertEquals("TESTDB", currentDatabase(true));
+        assertEquals(0.0, meterRegistry.get("library.datasource.replica.available").gauge().value());
+
+        // When the replica answers again
+        setUp();
+
+        // Then
+        assertTrue(replicaHealthMonitor.isAvailable());
+        assertEquals("REPLICADB", currentDatabase(true));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private double readOnlyConnections(String pool) {
+        return meterRegistry.counter(ReplicaFallbackDataSource.READ_ONLY_CONNECTIONS_METRIC, "pool", pool).count();
+    }
+}
@@ -1,33 +1,62 @@
 package com.assessment.librarySystem.controller;
 
+import com.assessment.librarySystem.common.BulkFormat;
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.LoanStatus;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.common.PagedResult;
 import com.assessment.librarySystem.dto.request.BookRegistrationRequest;
 import com.assessment.librarySystem.dto.request.BorrowerRegistrationRequest;
+import com.assessment.librarySystem.dto.request.HoldRequest;
 import com.assessment.librarySystem.dto.response.BookResponse;
 import com.assessment.librarySystem.dto.response.BorrowOperationResponse;
 import com.assessment.librarySystem.dto.response.BorrowerResponse;
+import com.assessment.librarySystem.dto.response.BulkItemResult;
+import com.assessment.librarySystem.dto.response.BulkOperationResponse;
+import com.assessment.librarySystem.dto.response.HoldResponse;
+import com.assessment.librarySystem.dto.response.LoanResponse;
 import com.assessment.librarySystem.mapper.BookMapper;
 import com.assessment.librarySystem.mapper.BorrowRecordMapper;
 import com.assessment.librarySystem.mapper.BorrowerMapper;
 import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BookHold;
 import com.assessment.librarySystem.model.BorrowRecord;
 import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.model.HoldStatus;
+import com.assessment.librarySystem.service.interfaces.AvailabilityStreamService;
 import com.assessment.librarySystem.service.interfaces.BookService;
 import com.assessment.librarySystem.service.interfaces.BorrowService;
 import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.BulkRegistrationService;
+import com.assessment.librarySystem.service.interfaces.HoldService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +77,15 @@ class LibraryControllerTest {
     @MockitoBean
     private BorrowService borrowService;
 
+    @MockitoBean
+    private HoldService holdService;
+
+    @MockitoBean
+    private AvailabilityStreamService availabilityStreamService;
+
+    @MockitoBean
+    private BulkRegistrationService bulkRegistrationService;
+
     @MockitoBean
     private BorrowerMapper borrowerMapper;
 
@@ -118,6 +156,110 @@ class LibraryControllerTest {
                 .andExpect(jsonPath("$.isAvailable").value(true));
     }
 
+    @Test
+    void registerBooksBulk_Json_DelegatesToBulkRegistration() throws Exception {
+        // Given
+        BookResponse book = new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", true);
+        when(bulkRegistrationService.registerBooks(any(), eq(BulkFormat.JSON))).thenReturn(BulkOperationResponse.of(List.of(
+            new BulkItemResult<>(0, true, book, "Book registered successfully", null),
+            BulkItemResult.<BookResponse>failure(1, "isbn: Invalid ISBN format", ErrorCodes.VALIDATION_ERROR))));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].data.isbn").value("978-0134685991"))
+                .andExpect(jsonPath("$.results[1].errorCode").value(ErrorCodes.VALIDATION_ERROR));
+    }
+
+    @Test
+    void registerBooksBulk_NdjsonAndCsv_PassFormat() throws Exception {
+        // Given
+        when(bulkRegistrationService.registerBooks(any(), any())).thenReturn(BulkOperationResponse.of(List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/books/bulk")
+                .contentType("application/x-ndjson")
+                .content("{}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/library/books/bulk")
+                .contentType("text/csv")
+                .content("isbn,title,author"))
+                .andExpect(status().isOk());
+        verify(bulkRegistrationService).registerBooks(any(), eq(BulkFormat.JSON));
+        verify(bulkRegistrationService).registerBooks(any(), eq(BulkFormat.CSV));
+    }
+
+    @Test
+    void registerBooksBulk_MalformedPayload_ReturnsBadRequest() throws Exception {
+        // Given
+        when(bulkRegistrationService.registerBooks(any(), eq(BulkFormat.JSON)))
+            .thenThrow(new IllegalArgumentException("Malformed bulk payload at row 0: Unexpected end-of-input"));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"isbn\":\"978-0134685991\",\"title\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed bulk payload at row 0: Unexpected end-of-input"));
+    }
+
+    @Test
+    void registerBorrowersBulk_Csv_DelegatesToBulkRegistration() throws Exception {
+        // Given
+        when(bulkRegistrationService.registerBorrowers(any(), eq(BulkFormat.CSV))).thenReturn(BulkOperationResponse.of(List.of(
+            new BulkItemResult<>(0, true, new BorrowerResponse(1L, "Jane Smith", "jane@example.com"), "Borrower registered successfully", null),
+            BulkItemResult.<BorrowerResponse>failure(1, "Duplicate email in batch: jane@example.com", ErrorCodes.EMAIL_CONFLICT))));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/borrowers/bulk")
+                .contentType("text/csv")
+                .content("name,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].data.email").value("jane@example.com"))
+                .andExpect(jsonPath("$.results[1].errorCode").value(ErrorCodes.EMAIL_CONFLICT));
+    }
+
+    @Test
+    void borrowBooks_Batch_ReturnsPerBookResults() throws Exception {
+        // Given
+        Borrower borrower = new Borrower("John Doe", "john@example.com");
+        borrower.setId(1L);
+        Book book = new Book("978-0134685991", "Effective Java", "Joshua Bloch");
+        book.setId(1L);
+        BorrowRecord borrowRecord = new BorrowRecord(borrower, book);
+        borrowRecord.setId(1L);
+        BorrowOperationResponse response = new BorrowOperationResponse(
+            1L, 1L, "John Doe", 1L, "Effective Java", "Joshua Bloch",
+            LocalDateTime.now(), "BORROWED", "Book 'Effective Java' has been successfully borrowed by John Doe");
+
+        when(borrowService.borrowBooks(1L, List.of(1L, 2L))).thenReturn(List.of(
+            new OperationResult.Success<>(borrowRecord, "Book borrowed successfully"),
+            new OperationResult.Failure<>("Book with ID 2 is already borrowed", ErrorCodes.BOOK_UNAVAILABLE)));
+        when(borrowRecordMapper.toBorrowOperationResponse(borrowRecord)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/library/borrow/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"borrowerId\":1,\"bookIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].data.operation").value("BORROWED"))
+                .andExpect(jsonPath("$.results[1].errorCode").value(ErrorCodes.BOOK_UNAVAILABLE));
+    }
+
+    @Test
+    void borrowBooks_Batch_EmptyBookIds_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/library/borrow/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"borrowerId\":1,\"bookIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void registerBook_ValidationError() throws Exception {
         // Given
@@ -131,27 +273,186 @@ class LibraryControllerTest {
     }
 
     @Test
-    void getAllBooks_Success() throws Exception {
+    void getAllBooks_NoParameters_ReturnsFirstPage() throws Exception {
         // Given
-        List<Book> books = Arrays.asList(
-            createSampleBook(1L, "978-0134685991", "Effective Java", "Joshua Bloch"),
-            createSampleBook(2L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt")
-        );
-
         List<BookResponse> responses = Arrays.asList(
             new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", true),
             new BookResponse(2L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt", false)
         );
 
-        when(bookService.getAllBooks()).thenReturn(books);
-        when(bookMapper.toResponseList(books)).thenReturn(responses);
+        when(bookService.getCatalogPage(null, 100)).thenReturn(responses);
 
         // When & Then
         mockMvc.perform(get("/api/library/books"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(LibraryController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].title").value("Effective Java"))
-                .andExpect(jsonPath("$[1].title").value("Java: The Complete Reference"));
+                .andExpect(jsonPath("$[1].title").value("Java: The Complete Reference"))
+                .andExpect(jsonPath("$[0].isAvailable").value(true))
+                .andExpect(jsonPath("$[1].isAvailable").value(false));
+    }
+
+    @Test
+    void getAllBooks_KeysetPage_ReturnsNextCursor() throws Exception {
+        // Given
+        List<BookResponse> responses = Arrays.asList(
+            new BookResponse(11L, "978-0134685991", "Effective Java", "Joshua Bloch", true),
+            new BookResponse(12L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt", false)
+        );
+
+        when(bookService.getCatalogPage(10L, 2)).thenReturn(responses);
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LibraryController.NEXT_CURSOR_HEADER, "12"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(11));
+    }
+
+    @Test
+    void getAllBooks_LastKeysetPage_HasNoNextCursor() throws Exception {
+        // Given
+        List<BookResponse> responses = List.of(
+            new BookResponse(12L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt", true));
+
+        when(bookService.getCatalogPage(11L, 100)).thenReturn(responses);
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books").param("after", "11"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(LibraryController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void getBook_Found() throws Exception {
+        // Given
+        when(bookService.getCatalogEntry(1L)).thenReturn(Optional.of(
+            new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", false)));
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Effective Java"))
+                .andExpect(jsonPath("$.isAvailable").value(false));
+    }
+
+    @Test
+    void getBook_NotFound() throws Exception {
+        // Given
+        when(bookService.getCatalogEntry(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBorrower_Found() throws Exception {
+        // Given
+        when(borrowerService.getBorrowerSummary(1L)).thenReturn(Optional.of(
+            new BorrowerResponse(1L, "John Doe", "john@example.com")));
+
+        // When & Then
+        mockMvc.perform(get("/api/library/borrowers/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"))
+                .andExpect(jsonPath("$.email").value("john@example.com"));
+    }
+
+    @Test
+    void getBorrower_NotFound() throws Exception {
+        // Given
+        when(borrowerService.getBorrowerSummary(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/library/borrowers/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBorrowerLoans_FullPageReturnsNextCursor() throws Exception {
+        // Given
+        LocalDateTime borrowDate = LocalDateTime.of(2024, 3, 1, 10, 0);
+        List<LoanResponse> loans = List.of(
+            new LoanResponse(42L, 1L, "978-0134685991", "Effective Java", "Joshua Bloch", borrowDate, null),
+            new LoanResponse(17L, 2L, "978-0132350884", "Clean Code", "Robert C. Martin", borrowDate.minusDays(1), null));
+        when(borrowService.getLoans(1L, LoanStatus.ACTIVE, 50L, 2)).thenReturn(loans);
+
+        // When & Then
+        mockMvc.perform(get("/api/library/borrowers/1/loans")
+                .param("status", "active").param("after", "50").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LibraryController.NEXT_CURSOR_HEADER, "17"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].bookTitle").value("Effective Java"))
+                .andExpect(jsonPath("$[0].returnDate").doesNotExist());
+    }
+
+    @Test
+    void getBorrowerLoans_LastPageHasNoCursor() throws Exception {
+        // Given
+        when(borrowService.getLoans(1L, null, null, 100)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/library/borrowers/1/loans"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(LibraryController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getBorrowerLoans_UnknownStatus_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/library/borrowers/1/loans").param("status", "overdue"))
+                .andExpect(status().isBadRequest());
+        verify(borrowService, never()).getLoans(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void searchBooks_ReturnsRankedPageAndTotal() throws Exception {
+        // Given
+        List<BookResponse> responses = List.of(
+            new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", true));
+
+        when(bookService.searchCatalog("effective jav", 20, 10)).thenReturn(new PagedResult<>(responses, 21));
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books/search")
+                .param("q", "effective jav").param("offset", "20").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LibraryController.TOTAL_COUNT_HEADER, "21"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Effective Java"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAllBooks_WritesNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<BookResponse> action = invocation.getArgument(0);
+            action.accept(new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", true));
+            action.accept(new BookResponse(2L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt", false));
+            return null;
+        }).when(bookService).forEachCatalogEntry(any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/library/books")
+                .accept(LibraryController.NDJSON_MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(LibraryController.NDJSON_MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Effective Java\""));
+        assertTrue(lines[1].contains("\"isAvailable\":false"));
     }
 
     @Test
@@ -230,6 +531,102 @@ class LibraryControllerTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void borrowBook_ConcurrentBorrowRejectedByIndex_ReturnsConflict() throws Exception {
+        // Given
+        ConstraintViolationException violation = new ConstraintViolationException(
+            "duplicate key", new SQLException("duplicate key"), BorrowRecord.ACTIVE_LOAN_CONSTRAINT);
+        when(borrowService.borrowBook(1L, 1L))
+            .thenThrow(new DataIntegrityViolationException("could not execute statement", violation));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/borrow/1/1"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Book is already borrowed"));
+    }
+
+    @Test
+    void placeHold_Success() throws Exception {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(holdService.placeHold(1L, 2L)).thenReturn(new HoldResponse(10L, 1L, 2L, HoldStatus.WAITING, 3, createdAt));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/books/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HoldRequest(2L))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdId").value(10))
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andExpect(jsonPath("$.position").value(3));
+    }
+
+    @Test
+    void placeHold_MissingBorrowerId_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/library/books/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.borrowerId").value("Borrower ID is required"));
+        verify(holdService, never()).placeHold(any(), any());
+    }
+
+    @Test
+    void placeHold_DuplicateRejectedByIndex_ReturnsConflict() throws Exception {
+        // Given
+        ConstraintViolationException violation = new ConstraintViolationException(
+            "duplicate key", new SQLException("duplicate key"), BookHold.OPEN_HOLD_CONSTRAINT);
+        when(holdService.placeHold(1L, 2L))
+            .thenThrow(new DataIntegrityViolationException("could not execute statement", violation));
+
+        // When & Then
+        mockMvc.perform(post("/api/library/books/1/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HoldRequest(2L))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Borrower already has a hold on this book"));
+    }
+
+    @Test
+    void streamAvailability_OpensStreamForBook() throws Exception {
+        // Given
+        when(availabilityStreamService.subscribe(List.of(1L))).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books/1/availability/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(availabilityStreamService).subscribe(List.of(1L));
+    }
+
+    @Test
+    void streamAvailabilities_WatchesAllRequestedBooks() throws Exception {
+        // Given
+        when(availabilityStreamService.subscribe(List.of(1L, 2L, 3L))).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books/availability/stream")
+                .param("bookIds", "1,2,3")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(availabilityStreamService).subscribe(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void streamAvailability_UnknownBook_ReturnsBadRequest() throws Exception {
+        // Given
+        when(availabilityStreamService.subscribe(List.of(999L)))
+            .thenThrow(new IllegalArgumentException("Book not found with ID: 999"));
+
+        // When & Then
+        mockMvc.perform(get("/api/library/books/999/availability/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Book not found with ID: 999"));
+    }
+
     private Book createSampleBook(Long id, String isbn, String title, String author) {
         Book book = new Book(isbn, title, author);
         book.setId(id);
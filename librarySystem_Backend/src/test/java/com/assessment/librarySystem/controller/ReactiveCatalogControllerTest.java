@@ -0,0 +1,191 @@
+package com.assessment.librarySystem.controller;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.interfaces.BookService;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the v2 catalog endpoints against the test database through R2DBC, alongside the JPA write path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveCatalogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowerService borrowerService;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        books = List.of(
+            bookService.registerBook(new Book("978-0134685991", "Effective Java", "Joshua Bloch")),
+            bookService.registerBook(new Book("978-0321356680", "Java Concurrency in Practice", "Brian Goetz")),
+            bookService.registerBook(new Book("978-0132350884", "Clean Code", "Robert C. Martin")));
+        Borrower borrower = borrowerService.registerBorrower(new Borrower("John Doe", "john.reactive@example.com"));
+        borrowService.borrowBook(borrower.getId(), books.get(1).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowRecordRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void getBooks_ReturnsKeysetPageWithAvailability() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/library/books")
+                .param("after", String.valueOf(books.get(0).getId()))
+                .param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Java Concurrency in Practice"))
+                .andExpect(jsonPath("$[0].isAvailable").value(false));
+    }
+
+    @Test
+    void getBooks_StreamsWholeCatalogAsNdjson() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/library/books")
+                .accept(LibraryController.NDJSON_MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(LibraryController.NDJSON_MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.trim().split("\\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Effective Java\""));
+        assertTrue(lines[2].contains("\"title\":\"Clean Code\""));
+    }
+
+    @Test
+    void getBooks_JsonWithoutLimit_ReturnsOnePage() throws Exception {
+        // Given: more copies than fit on one page
+        List<Book> copies = new ArrayList<>();
+        for (int i = 0; i < ReactiveCatalogController.DEFAULT_PAGE_SIZE; i++) {
+            copies.add(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+        }
+        bookService.registerBooks(copies);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/library/books")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ReactiveCatalogController.DEFAULT_PAGE_SIZE))
+                .andExpect(jsonPath("$[0].title").value("Effective Java"));
+    }
+
+    @Test
+    void getBooks_InvalidLimit_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v2/library/books").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBook_Found() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/library/books/{bookId}", books.get(2).getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isbn").value("978-0132350884"))
+                .andExpect(jsonPath("$.isAvailable").value(true));
+    }
+
+    @Test
+    void getBook_NotFound() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/library/books/{bookId}", Long.MAX_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchBooks_RanksMatchesFromIndex() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/library/books/search").param("q", "jav"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", not(hasItem("Clean Code"))))
+                .andExpect(jsonPath("$[?(@.id == %s)].title", books.get(1).getId()).value("Java Concurrency in Practice"))
+                .andExpect(jsonPath("$[?(@.id == %s)].isAvailable", books.get(1).getId()).value(false));
+    }
+
+    @Test
+    void searchBooks_BlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v2/library/books/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,84 @@
+package com.assessment.librarySystem.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency samples and outcome counts for one endpoint. Samples go into a growable array under a lock;
+ * at load-test request rates the lock is never the bottleneck, and exact percentiles need every sample.
+ */
+class LatencyRecorder {
+    
+    private final String endpoint;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private long[] samples = new long[1 << 16];
+    private int count;
+    
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    /**
+     * Record one request
+     * @param nanos Latency of the request
+     * @param status HTTP status; 4xx counts as a rejection (e.g. a hot title already on loan), 5xx as an error
+     */
+    void record(long nanos, int status) {
+        if (status >= 500) {
+            errors.incrementAndGet();
+        } else if (status >= 400) {
+            rejected.incrementAndGet();
+        }
+        synchronized (this) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+    }
+    
+    void recordFailure() {
+        errors.incrementAndGet();
+    }
+    
+    long errors() {
+        return errors.get();
+    }
+    
+    String endpoint() {
+        return endpoint;
+    }
+    
+    /**
+     * Summary in milliseconds, with throughput over the given run time
+     */
+    synchronized Map<String, Object> summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("rejected", rejected.get());
+        summary.put("errors", errors.get());
+        summary.put("throughputPerSecond", round(count / elapsedSeconds));
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("p999Ms", percentileMillis(sorted, 0.999));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : round(sorted[sorted.length - 1] / 1e6));
+        return summary;
+    }
+    
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1e6);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
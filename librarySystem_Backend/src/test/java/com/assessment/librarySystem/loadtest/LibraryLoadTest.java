@@ -0,0 +1,259 @@
+package com.assessment.librarySystem.loadtest;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed-traffic load test over HTTP for the five endpoints, against the embedded H2 database.
+ * Run with {@code mvn -Pload-test test}; tune with -Dloadtest.* (see the constants below), and compare
+ * threading modes by adding -Dspring.threads.virtual.enabled=true.
+ * Percentiles and throughput per endpoint are logged and written to target/load-test/report.json, and the run
+ * fails if any endpoint errors. Latency depends on the machine, so the borrow/return p99 is only gated when
+ * -Dloadtest.max-p99-ms is given.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LibraryLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryLoadTest.class);
+
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int BOOKS = Integer.getInteger("loadtest.books", 2000);
+    private static final int BORROWERS = Integer.getInteger("loadtest.borrowers", 500);
+    /** A few titles that every client keeps trying to borrow */
+    private static final int HOT_TITLES = Integer.getInteger("loadtest.hot-titles", 5);
+    private static final int HOT_BORROW_PERCENT = Integer.getInteger("loadtest.hot-borrow-percent", 20);
+    /** Borrow/return p99 budget in milliseconds; unset, the p99 is reported but not asserted */
+    private static final Integer MAX_P99_MS = Integer.getInteger("loadtest.max-p99-ms");
+    private static final Path REPORT = Path.of("target", "load-test", "report.json");
+
+    private static final String REGISTER_BORROWER = "POST /borrowers";
+    private static final String REGISTER_BOOK = "POST /books";
+    private static final String LIST_BOOKS = "GET /books";
+    private static final String BORROW = "POST /borrow";
+    private static final String RETURN = "POST /return";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong uniqueSuffix = new AtomicLong();
+    private List<Long> bookIds;
+    private List<Long> borrowerIds;
+
+    @AfterEach
+    void tearDown() {
+        borrowRecordRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void mixedTraffic_MeetsLatencyBudget() throws Exception {
+        seed();
+
+        // Warm-up traffic goes to throwaway recorders so JIT and pool start-up do not skew the percentiles
+        run(WARMUP_SECONDS, newRecorders());
+        Map<String, LatencyRecorder> recorders = newRecorders();
+        long start = System.nanoTime();
+        run(DURATION_SECONDS, recorders);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", Map.of("clients", CLIENTS, "durationSeconds", DURATION_SECONDS, "virtualThreads", virtualThreads));
+        recorders.forEach((endpoint, recorder) -> report.put(endpoint, recorder.summarize(elapsedSeconds)));
+        writeReport(report);
+
+        for (LatencyRecorder recorder : recorders.values()) {
+            assertEquals(0, recorder.errors(), recorder.endpoint() + " had server errors");
+        }
+        if (MAX_P99_MS == null) {
+            return;
+        }
+        for (String endpoint : List.of(BORROW, RETURN)) {
+            double p99 = (double) ((Map<?, ?>) report.get(endpoint)).get("p99Ms");
+            assertTrue(p99 <= MAX_P99_MS, endpoint + " p99 " + p99 + " ms exceeds " + MAX_P99_MS + " ms");
+        }
+    }
+
+    private void seed() {
+        List<Book> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Book(isbn(i), "Title " + i, "Author " + (i % 200)));
+        }
+        bookIds = bookRepository.saveAll(books).stream().map(Book::getId).toList();
+
+        List<Borrower> borrowers = new ArrayList<>(BORROWERS);
+        for (int i = 0; i < BORROWERS; i++) {
+            borrowers.add(new Borrower("Borrower " + i, "load" + i + "@example.com"));
+        }
+        borrowerIds = borrowerRepository.saveAll(borrowers).stream().map(Borrower::getId).toList();
+    }
+
+    private Map<String, LatencyRecorder> newRecorders() {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (String endpoint : List.of(REGISTER_BORROWER, REGISTER_BOOK, LIST_BOOKS, BORROW, RETURN)) {
+            recorders.put(endpoint, new LatencyRecorder(endpoint));
+        }
+        return recorders;
+    }
+
+    private void run(int seconds, Map<String, LatencyRecorder> recorders) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        // Clients are cheap virtual threads, so a thousand of them measure the server rather than this harness
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> clients = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                Long borrowerId = borrowerIds.get(i % borrowerIds.size());
+                clients.add(executor.submit(() -> client(borrowerId, deadline, recorders)));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * One simulated kiosk: mostly browses, borrows and returns its own loans, and occasionally registers
+     */
+    private void client(Long borrowerId, long deadline, Map<String, LatencyRecorder> recorders) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Deque<Long> loans = new ArrayDeque<>();
+        while (System.nanoTime() < deadline) {
+            int roll = random.nextInt(100);
+            if (roll < 40) {
+                long after = bookIds.get(random.nextInt(bookIds.size())) - 1;
+                send(recorders.get(LIST_BOOKS), get("/books?limit=100&after=" + after));
+            } else if (roll < 70 || loans.isEmpty()) {
+                Long bookId = random.nextInt(100) < HOT_BORROW_PERCENT
+                    ? bookIds.get(random.nextInt(HOT_TITLES))
+                    : bookIds.get(HOT_TITLES + random.nextInt(bookIds.size() - HOT_TITLES));
+                if (send(recorders.get(BORROW), post("/borrow/" + borrowerId + "/" + bookId, null)) == 201) {
+                    loans.add(bookId);
+                }
+            } else if (roll < 95) {
+                Long bookId = loans.poll();
+                send(recorders.get(RETURN), post("/return/" + borrowerId + "/" + bookId, null));
+            } else if (roll < 98) {
+                long suffix = uniqueSuffix.incrementAndGet();
+                send(recorders.get(REGISTER_BORROWER), post("/borrowers",
+                    "{\"name\":\"Load Borrower\",\"email\":\"new" + suffix + "@example.com\"}"));
+            } else {
+                send(recorders.get(REGISTER_BOOK), post("/books",
+                    "{\"isbn\":\"" + isbn(BOOKS + random.nextInt(BOOKS)) + "\",\"title\":\"New Title\",\"author\":\"New Author\"}"));
+            }
+        }
+        // Leave the catalog as we found it so the next phase starts without this client's loans
+        for (Long bookId : loans) {
+            send(recorders.get(RETURN), post("/return/" + borrowerId + "/" + bookId, null));
+        }
+    }
+
+    private int send(LatencyRecorder recorder, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            recorder.record(System.nanoTime() - start, status);
+            return status;
+        } catch (IOException e) {
+            recorder.recordFailure();
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/json")
+            .POST(json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/library" + path);
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        String json = objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        Files.writeString(REPORT, json);
+        log.info("Load test report written to {}:\n{}", REPORT.toAbsolutePath(), json);
+    }
+
+    /**
+     * "978-" plus ten digits whose last one is the ISBN-13 check digit, as the registration request requires
+     */
+    static String isbn(int sequence) {
+        String digits = String.format("978%09d", sequence);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(i) - '0';
+            sum += i % 2 == 0 ? digit : digit * 3;
+        }
+        return "978-" + digits.substring(3) + (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,65 @@
+package com.assessment.librarySystem.repository;
+
+import com.assessment.librarySystem.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pooled sequence IDs let Hibernate send inserts as JDBC batches instead of one statement per row
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BatchInsertTest {
+
+    private static final int BOOK_COUNT = 500;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_SendsInsertsInBatches() {
+        // Given
+        List<Book> books = new ArrayList<>(BOOK_COUNT);
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            books.add(new Book(String.format("978-%010d", i), "Title " + i, "Author " + i));
+        }
+
+        // When
+        bookRepository.saveAll(books);
+        entityManager.flush();
+
+        // Then
+        assertEquals(BOOK_COUNT, statistics.getEntityInsertCount());
+        // One insert statement reused for every batch, plus one nextval per 50 IDs
+        long maxStatements = 1 + BOOK_COUNT / 50 + 1;
+        assertTrue(statistics.getPrepareStatementCount() <= maxStatements,
+            "saveAll prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(BOOK_COUNT, books.stream().map(Book::getId).distinct().count());
+    }
+}
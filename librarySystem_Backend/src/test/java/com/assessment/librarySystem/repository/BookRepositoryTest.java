@@ -0,0 +1,121 @@
+package com.assessment.librarySystem.repository;
+
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies each catalog listing is a single projection query with no per-book lookups,
+ * using a catalog large enough for N+1 queries to be obvious.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BookRepositoryTest {
+
+    private static final int CATALOG_SIZE = 100_000;
+    /** Enough rows for the single-book and single-page lookups */
+    private static final int SMALL_CATALOG_SIZE = 100;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long firstBookId;
+
+    @BeforeEach
+    void setUp() {
+        firstBookId = 1L;
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findCatalog_ListsEveryBookInOneQuery() {
+        // Given
+        seedCatalog(CATALOG_SIZE);
+
+        // When
+        List<CatalogEntry> catalog = bookRepository.findCatalog();
+
+        // Then
+        assertEquals(CATALOG_SIZE, catalog.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(new CatalogEntry(firstBookId, "978-0000000000", "Title 0", "Author 0"), catalog.get(0));
+    }
+
+    @Test
+    void findCatalogEntryById_ReadsColumnsWithoutLoadingEntity() {
+        // Given
+        seedCatalog(SMALL_CATALOG_SIZE);
+
+        // When
+        Optional<CatalogEntry> entry = bookRepository.findCatalogEntryById(firstBookId + 42);
+
+        // Then
+        assertEquals(Optional.of(new CatalogEntry(firstBookId + 42, "978-0000000042", "Title 42", "Author 42")), entry);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findCatalogAfter_ReturnsKeysetPageInOneQuery() {
+        // Given
+        seedCatalog(SMALL_CATALOG_SIZE);
+
+        // When
+        List<CatalogEntry> page = bookRepository.findCatalogAfter(firstBookId + 9, Limit.of(3));
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(firstBookId + 10, firstBookId + 11, firstBookId + 12),
+            page.stream().map(CatalogEntry::id).toList());
+    }
+
+    @Test
+    void streamCatalog_VisitsEveryBookInOneQuery() {
+        // Given
+        seedCatalog(CATALOG_SIZE);
+
+        // When
+        AtomicInteger total = new AtomicInteger();
+        try (Stream<CatalogEntry> catalog = bookRepository.streamCatalog()) {
+            catalog.forEach(book -> total.incrementAndGet());
+        }
+
+        // Then
+        assertEquals(CATALOG_SIZE, total.get());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void seedCatalog(int size) {
+        // Explicit contiguous IDs so keyset pages are predictable
+        List<Object[]> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(new Object[] {firstBookId + i, String.format("978-%010d", i), "Title " + i, "Author " + (i % 500)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, isbn, title, author) VALUES (?, ?, ?, ?)", books);
+        statistics.clear();
+    }
+}
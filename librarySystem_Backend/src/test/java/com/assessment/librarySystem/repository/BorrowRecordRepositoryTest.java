@@ -0,0 +1,140 @@
+package com.assessment.librarySystem.repository;
+
+import com.assessment.librarySystem.dto.response.LoanResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies a loan history page is a single projection query, wherever in a long history it starts.
+ * Record IDs increase with borrow date, except that each pair of records shares a borrow date so the
+ * ID tie-break of the keyset is exercised.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BorrowRecordRepositoryTest {
+
+    private static final int HISTORY_SIZE = 20_000;
+    private static final int BOOK_COUNT = 100;
+    private static final long BORROWER_ID = 1L;
+    private static final long OTHER_BORROWER_ID = 2L;
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> books = new ArrayList<>(BOOK_COUNT);
+        for (long i = 1; i <= BOOK_COUNT; i++) {
+            books.add(new Object[] {i, String.format("978-%010d", i), "Title " + i, "Author " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, isbn, title, author) VALUES (?, ?, ?, ?)", books);
+        jdbcTemplate.update("INSERT INTO borrowers (id, name, email) VALUES (?, 'John Doe', 'john@example.com')", BORROWER_ID);
+        jdbcTemplate.update("INSERT INTO borrowers (id, name, email) VALUES (?, 'Jane Doe', 'jane@example.com')", OTHER_BORROWER_ID);
+
+        // Every loan returned except the two newest
+        List<Object[]> records = new ArrayList<>(HISTORY_SIZE);
+        for (long id = 1; id <= HISTORY_SIZE; id++) {
+            LocalDateTime borrowDate = START.plusHours(id / 2);
+            Timestamp returnDate = id > HISTORY_SIZE - 2 ? null : Timestamp.valueOf(borrowDate.plusMinutes(30));
+            records.add(new Object[] {id, BORROWER_ID, id % BOOK_COUNT + 1, Timestamp.valueOf(borrowDate), returnDate, returnDate != null});
+        }
+        records.add(new Object[] {HISTORY_SIZE + 1L, OTHER_BORROWER_ID, 1L, Timestamp.valueOf(START), Timestamp.valueOf(START), true});
+        jdbcTemplate.batchUpdate("INSERT INTO borrow_records (id, borrower_id, book_id, borrow_date, return_date, is_returned) " +
+            "VALUES (?, ?, ?, ?, ?, ?)", records);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findLoans_ReturnsNewestFirstInOneQuery() {
+        // When
+        List<LoanResponse> page = borrowRecordRepository.findLoans(BORROWER_ID, Limit.of(3));
+
+        // Then
+        assertEquals(List.of(20_000L, 19_999L, 19_998L), page.stream().map(LoanResponse::borrowRecordId).toList());
+        assertNull(page.get(0).returnDate());
+        assertEquals("Title 1", page.get(0).bookTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findLoansAfter_ContinuesAcrossEqualBorrowDates() {
+        // When: 10_001 shares its borrow date with 10_000
+        List<LoanResponse> page = borrowRecordRepository.findLoansAfter(BORROWER_ID, 10_001L, Limit.of(3));
+
+        // Then
+        assertEquals(List.of(10_000L, 9_999L, 9_998L), page.stream().map(LoanResponse::borrowRecordId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findLoansAfter_LastPageOfLongHistoryIsOneQuery() {
+        // When
+        List<LoanResponse> page = borrowRecordRepository.findLoansAfter(BORROWER_ID, 3L, Limit.of(100));
+
+        // Then
+        assertEquals(List.of(2L, 1L), page.stream().map(LoanResponse::borrowRecordId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findLoans_FiltersByStatus() {
+        // When
+        List<LoanResponse> active = borrowRecordRepository.findUnreturnedLoans(BORROWER_ID, Limit.of(10));
+        List<LoanResponse> returned = borrowRecordRepository.findReturnedLoans(BORROWER_ID, Limit.of(1));
+
+        // Then
+        assertEquals(List.of(20_000L, 19_999L), active.stream().map(LoanResponse::borrowRecordId).toList());
+        assertEquals(List.of(19_998L), returned.stream().map(LoanResponse::borrowRecordId).toList());
+        assertNotNull(returned.get(0).returnDate());
+    }
+
+    @Test
+    void findLoansAfter_FiltersByStatusFromCursor() {
+        // When
+        List<LoanResponse> active = borrowRecordRepository.findUnreturnedLoansAfter(BORROWER_ID, 20_000L, Limit.of(10));
+        List<LoanResponse> returned = borrowRecordRepository.findReturnedLoansAfter(BORROWER_ID, 19_999L, Limit.of(2));
+
+        // Then
+        assertEquals(List.of(19_999L), active.stream().map(LoanResponse::borrowRecordId).toList());
+        assertEquals(List.of(19_998L, 19_997L), returned.stream().map(LoanResponse::borrowRecordId).toList());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findLoansAfter_CursorOfAnotherBorrower_ReturnsNothing() {
+        // When
+        List<LoanResponse> page = borrowRecordRepository.findLoansAfter(BORROWER_ID, HISTORY_SIZE + 1L, Limit.of(10));
+
+        // Then
+        assertTrue(page.isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.assessment.librarySystem.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks via EXPLAIN that the per-write lookups are answered from the indexes created by the migrations
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class IndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> books = new ArrayList<>();
+        List<Object[]> borrowers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            books.add(new Object[] {String.format("978-%010d", i), "Title " + i, "Author " + i});
+            borrowers.add(new Object[] {"Borrower " + i, "borrower" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (isbn, title, author) VALUES (?, ?, ?)", books);
+        jdbcTemplate.batchUpdate("INSERT INTO borrowers (name, email) VALUES (?, ?)", borrowers);
+        jdbcTemplate.update(
+            "INSERT INTO borrow_records (borrower_id, book_id, borrow_date, return_date, is_returned) " +
+            "SELECT br.id, b.id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, true FROM borrowers br JOIN books b ON b.id = br.id");
+    }
+
+    @Test
+    void findByIsbn_UsesIsbnIndex() {
+        String plan = explain("SELECT * FROM books WHERE isbn = '978-0000000042'");
+        assertTrue(plan.contains("IDX_BOOKS_ISBN"), plan);
+    }
+
+    @Test
+    void findActiveLoanByBorrowerAndBook_UsesBorrowerBookIndex() {
+        String plan = explain(
+            "SELECT * FROM borrow_records WHERE borrower_id = 1 AND book_id = 1 AND return_date IS NULL");
+        assertTrue(plan.contains("IDX_BORROW_RECORDS_ACTIVE_BORROWER_BOOK"), plan);
+    }
+
+    @Test
+    void findActiveLoanByBook_UsesActiveBookIndex() {
+        String plan = explain("SELECT * FROM borrow_records WHERE book_id = 1 AND return_date IS NULL");
+        assertTrue(plan.contains("IDX_BORROW_RECORDS_ACTIVE_BOOK"), plan);
+    }
+
+    @Test
+    void loanHistoryAfterCursor_EntersHistoryIndexAtCursor() {
+        String plan = explain("SELECT * FROM borrow_records r WHERE r.borrower_id = 1 " +
+            "AND (r.borrow_date, r.id) < ((SELECT c.borrow_date FROM borrow_records c WHERE c.id = 1 AND c.borrower_id = 1), 1) " +
+            "ORDER BY r.borrow_date DESC, r.id DESC FETCH FIRST 20 ROWS ONLY");
+        // The row-value cursor becomes a range on the index rather than a filter after the borrower lookup
+        assertTrue(plan.contains("IDX_BORROW_RECORDS_BORROWER_HISTORY"), plan);
+        assertTrue(plan.contains("AND BORROW_DATE <="), plan);
+    }
+
+    @Test
+    void existsByEmail_UsesEmailUniqueIndex() {
+        String plan = explain("SELECT 1 FROM borrowers WHERE email = 'borrower42@example.com'");
+        assertTrue(plan.contains("UK_BORROWERS_EMAIL"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
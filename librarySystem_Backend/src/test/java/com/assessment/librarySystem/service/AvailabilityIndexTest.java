@@ -0,0 +1,149 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.event.BookAvailabilityChangedEvent;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.projection.ReadyHold;
+import com.assessment.librarySystem.service.impl.AvailabilityIndexImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class AvailabilityIndexTest {
+
+    @Mock
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Mock
+    private BookHoldRepository bookHoldRepository;
+
+    @InjectMocks
+    private AvailabilityIndexImpl availabilityIndex;
+
+    @Test
+    void warmUp_LoadsActiveLoans() {
+        // Given
+        when(borrowRecordRepository.findBookIdsOnLoan()).thenReturn(List.of(1L, 70_000L, 5_000_000_000L));
+
+        // When
+        availabilityIndex.warmUp();
+
+        // Then
+        assertFalse(availabilityIndex.isAvailable(1L));
+        assertFalse(availabilityIndex.isAvailable(70_000L));
+        assertFalse(availabilityIndex.isAvailable(5_000_000_000L));
+        assertTrue(availabilityIndex.isAvailable(2L));
+        assertTrue(availabilityIndex.isAvailable(69_999L));
+    }
+
+    @Test
+    void onAvailabilityChanged_TracksBorrowsAndReturns() {
+        // When
+        availabilityIndex.onAvailabilityChanged(borrowed(42L));
+
+        // Then
+        assertFalse(availabilityIndex.isAvailable(42L));
+        availabilityIndex.onAvailabilityChanged(returned(42L));
+        assertTrue(availabilityIndex.isAvailable(42L));
+        verifyNoInteractions(borrowRecordRepository);
+    }
+
+    @Test
+    void onAvailabilityChanged_TracksWhoABookIsKeptFor() {
+        // When
+        availabilityIndex.onAvailabilityChanged(
+            new BookAvailabilityChangedEvent(42L, new BookStatus.Reserved(5L, "Jane Smith", LocalDateTime.now())));
+
+        // Then
+        assertFalse(availabilityIndex.isAvailable(42L));
+        assertEquals(5L, availabilityIndex.reservedFor(42L));
+        availabilityIndex.onAvailabilityChanged(borrowed(42L));
+        assertFalse(availabilityIndex.isAvailable(42L));
+        assertNull(availabilityIndex.reservedFor(42L));
+    }
+
+    @Test
+    void rebuild_LoadsReadyHolds() {
+        // Given
+        when(borrowRecordRepository.findBookIdsOnLoan()).thenReturn(List.of(1L));
+        when(bookHoldRepository.findReadyHolds()).thenReturn(List.of(new ReadyHold(2L, 9L)));
+
+        // When
+        long corrected = availabilityIndex.rebuild();
+
+        // Then
+        assertEquals(2, corrected);
+        assertFalse(availabilityIndex.isAvailable(2L));
+        assertEquals(9L, availabilityIndex.reservedFor(2L));
+        assertNull(availabilityIndex.reservedFor(1L));
+    }
+
+    @Test
+    void rebuild_CorrectsDriftAndReportsIt() {
+        // Given: the index believes books 1 and 2 are on loan, the database says 2 and 3
+        availabilityIndex.onAvailabilityChanged(borrowed(1L));
+        availabilityIndex.onAvailabilityChanged(borrowed(2L));
+        when(borrowRecordRepository.findBookIdsOnLoan()).thenReturn(List.of(2L, 3L));
+
+        // When
+        long corrected = availabilityIndex.rebuild();
+
+        // Then
+        assertEquals(2, corrected);
+        assertTrue(availabilityIndex.isAvailable(1L));
+        assertFalse(availabilityIndex.isAvailable(2L));
+        assertFalse(availabilityIndex.isAvailable(3L));
+    }
+
+    @Test
+    void rebuild_KeepsChangesCommittedWhileLoadingSnapshot() {
+        // Given: a return and a borrow commit while the snapshot (which predates both) is being read
+        when(borrowRecordRepository.findBookIdsOnLoan()).thenAnswer(invocation -> {
+            availabilityIndex.onAvailabilityChanged(returned(7L));
+            availabilityIndex.onAvailabilityChanged(borrowed(8L));
+            return List.of(7L);
+        });
+
+        // When
+        availabilityIndex.rebuild();
+
+        // Then
+        assertTrue(availabilityIndex.isAvailable(7L));
+        assertFalse(availabilityIndex.isAvailable(8L));
+    }
+
+    @Test
+    void rebuild_HandlesLargeLoanCounts() {
+        // Given
+        when(borrowRecordRepository.findBookIdsOnLoan()).thenReturn(LongStream.rangeClosed(1, 1_000_000).boxed().toList());
+
+        // When
+        long corrected = availabilityIndex.rebuild();
+
+        // Then
+        assertEquals(1_000_000, corrected);
+        assertFalse(availabilityIndex.isAvailable(999_999L));
+        assertTrue(availabilityIndex.isAvailable(1_000_001L));
+    }
+
+    private static BookAvailabilityChangedEvent borrowed(long bookId) {
+        return new BookAvailabilityChangedEvent(bookId, new BookStatus.Borrowed(1L, "John Doe", LocalDateTime.now()));
+    }
+
+    private static BookAvailabilityChangedEvent returned(long bookId) {
+        return new BookAvailabilityChangedEvent(bookId, new BookStatus.Available());
+    }
+}
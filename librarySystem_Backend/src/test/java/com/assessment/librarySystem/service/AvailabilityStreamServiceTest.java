@@ -0,0 +1,100 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.config.AvailabilityStreamProperties;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.service.impl.AvailabilityStreamServiceImpl;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class AvailabilityStreamServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    private AvailabilityStreamServiceImpl availabilityStreamService;
+
+    @BeforeEach
+    void setUp() {
+        availabilityStreamService = new AvailabilityStreamServiceImpl(bookRepository, availabilityIndex,
+            new AvailabilityStreamProperties(2, 3, Duration.ofMinutes(30)), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityStreamService.close();
+    }
+
+    @Test
+    void subscribe_ReadsSnapshotOfEachWatchedBookOnce() {
+        // Given
+        when(bookRepository.findIdsByIdIn(any())).thenReturn(List.of(1L, 2L));
+
+        // When
+        availabilityStreamService.subscribe(List.of(1L, 2L, 1L));
+
+        // Then
+        assertEquals(1, availabilityStreamService.subscriberCount());
+        verify(availabilityIndex).isAvailable(1L);
+        verify(availabilityIndex).isAvailable(2L);
+    }
+
+    @Test
+    void subscribe_UnknownBook_ThrowsException() {
+        // Given
+        when(bookRepository.findIdsByIdIn(any())).thenReturn(List.of(1L));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> availabilityStreamService.subscribe(List.of(1L, 999L)));
+        assertEquals("Book not found with ID: 999", exception.getMessage());
+        assertEquals(0, availabilityStreamService.subscriberCount());
+    }
+
+    @Test
+    void subscribe_InvalidBookIds_ThrowsExceptionWithoutQuerying() {
+        // When & Then
+        assertEquals("At least one book ID is required",
+            assertThrows(IllegalArgumentException.class, () -> availabilityStreamService.subscribe(List.of())).getMessage());
+        assertEquals("Book ID cannot be null",
+            assertThrows(IllegalArgumentException.class,
+                () -> availabilityStreamService.subscribe(Arrays.asList(1L, null))).getMessage());
+        assertEquals("At most 3 books can be watched on one stream",
+            assertThrows(IllegalArgumentException.class,
+                () -> availabilityStreamService.subscribe(List.of(1L, 2L, 3L, 4L))).getMessage());
+        verifyNoInteractions(bookRepository, availabilityIndex);
+    }
+
+    @Test
+    void subscribe_TooManyStreams_ThrowsException() {
+        // Given
+        when(bookRepository.findIdsByIdIn(any())).thenReturn(List.of(1L));
+        availabilityStreamService.subscribe(List.of(1L));
+        availabilityStreamService.subscribe(List.of(1L));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> availabilityStreamService.subscribe(List.of(1L)));
+        assertEquals("Too many availability streams are open; please try again later", exception.getMessage());
+        assertEquals(2, availabilityStreamService.subscriberCount());
+    }
+}
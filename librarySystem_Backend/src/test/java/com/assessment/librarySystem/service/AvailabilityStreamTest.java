@@ -0,0 +1,154 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.impl.AvailabilityIndexImpl;
+import com.assessment.librarySystem.service.impl.AvailabilityStreamServiceImpl;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Availability streams end to end: committed borrows and returns reach an open stream without it polling
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AvailabilityStreamTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AbstractApplicationContext applicationContext;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private BookHoldRepository bookHoldRepository;
+
+    private Borrower borrower;
+    private Long bookId;
+    private Long otherBookId;
+
+    @BeforeEach
+    void setUp() {
+        borrower = borrowerRepository.save(new Borrower("Alice", "alice.stream@example.com"));
+        bookId = bookRepository.save(new Book("978-0134685991", "Effective Java", "Joshua Bloch")).getId();
+        otherBookId = bookRepository.save(new Book("978-0132350884", "Clean Code", "Robert Martin")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookHoldRepository.deleteAll();
+        borrowRecordRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void availabilityListeners_IndexIsUpdatedBeforeStreams() {
+        // When
+        List<TransactionalApplicationListener<?>> listeners = applicationContext.getApplicationListeners().stream()
+            .filter(TransactionalApplicationListener.class::isInstance)
+            .<TransactionalApplicationListener<?>>map(TransactionalApplicationListener.class::cast)
+            .filter(listener -> listener.getListenerId().contains("onAvailabilityChanged"))
+            .sorted(AnnotationAwareOrderComparator.INSTANCE)
+            .toList();
+
+        // Then
+        assertEquals(2, listeners.size());
+        assertTrue(listeners.get(0).getListenerId().startsWith(AvailabilityIndexImpl.class.getName()));
+        assertTrue(listeners.get(1).getListenerId().startsWith(AvailabilityStreamServiceImpl.class.getName()));
+        assertTrue(listeners.get(0).getOrder() < listeners.get(1).getOrder());
+    }
+
+    @Test
+    void stream_SendsSnapshotThenEachCommittedChange() throws Exception {
+        // Given
+        MvcResult stream = mockMvc.perform(get("/api/library/books/{bookId}/availability/stream", bookId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitEvents(stream, 1);
+
+        // When
+        borrowService.borrowBook(borrower.getId(), bookId);
+        awaitEvents(stream, 2);
+        borrowService.returnBook(borrower.getId(), bookId);
+        awaitEvents(stream, 3);
+
+        // Then
+        String body = stream.getResponse().getContentAsString();
+        assertTrue(body.startsWith("event:availability\ndata:{\"bookId\":" + bookId + ",\"isAvailable\":true}"), body);
+        assertTrue(body.contains("{\"bookId\":" + bookId + ",\"isAvailable\":false}"), body);
+        assertTrue(body.endsWith("{\"bookId\":" + bookId + ",\"isAvailable\":true}\n\n"), body);
+    }
+
+    @Test
+    void multiplexedStream_CarriesOnlyWatchedBooks() throws Exception {
+        // Given
+        Long unwatchedBookId = bookRepository.save(new Book("978-0201633610", "Design Patterns", "Erich Gamma")).getId();
+        MvcResult stream = mockMvc.perform(get("/api/library/books/availability/stream")
+                .param("bookIds", bookId + "," + otherBookId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitEvents(stream, 2);
+
+        // When
+        borrowService.borrowBook(borrower.getId(), unwatchedBookId);
+        borrowService.borrowBook(borrower.getId(), otherBookId);
+        awaitEvents(stream, 3);
+
+        // Then
+        String body = stream.getResponse().getContentAsString();
+        assertTrue(body.endsWith("{\"bookId\":" + otherBookId + ",\"isAvailable\":false}\n\n"), body);
+        assertFalse(body.contains("\"bookId\":" + unwatchedBookId + ","), body);
+    }
+
+    private static void awaitEvents(MvcResult stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            String body = stream.getResponse().getContentAsString();
+            if (body.split("event:availability", -1).length - 1 >= count) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Expected " + count + " availability events, got: " + stream.getResponse().getContentAsString());
+    }
+}
@@ -1,7 +1,16 @@
 package com.assessment.librarySystem.service;
 
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.event.BookRegisteredEvent;
 import com.assessment.librarySystem.model.Book;
 import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import com.assessment.librarySystem.repository.projection.IsbnDetails;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.CatalogSearchIndex;
 import com.assessment.librarySystem.service.impl.BookServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,15 +18,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +42,15 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -54,6 +77,8 @@ class BookServiceTest {
         assertEquals(1L, result.getId());
         verify(bookRepository).findByIsbn("978-0321356680");
         verify(bookRepository).save(newBook);
+        verify(eventPublisher).publishEvent(
+            new BookRegisteredEvent(1L, "978-0134685991", "Effective Java", "Joshua Bloch"));
     }
 
     @Test
@@ -178,36 +203,137 @@ class BookServiceTest {
     }
 
     @Test
-    void getAllBooks_Success() {
+    void getCatalog_UsesSingleProjectionQueryAndIndexedAvailability() {
         // Given
-        List<Book> books = Arrays.asList(
-            validBook,
-            new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt")
-        );
-        when(bookRepository.findAll()).thenReturn(books);
+        when(bookRepository.findCatalog()).thenReturn(List.of(
+            new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch")));
+        when(availabilityIndex.isAvailable(1L)).thenReturn(false);
 
         // When
-        List<Book> result = bookService.getAllBooks();
+        List<BookResponse> result = bookService.getCatalog();
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(validBook, result.get(0));
-        verify(bookRepository).findAll();
+        assertEquals(List.of(new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", false)), result);
+        verify(bookRepository).findCatalog();
+        verifyNoMoreInteractions(bookRepository);
     }
 
     @Test
-    void getAllBooks_EmptyList() {
+    void getCatalogPage_NullCursor_StartsFromBeginning() {
         // Given
-        when(bookRepository.findAll()).thenReturn(Collections.emptyList());
+        CatalogEntry first = new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch");
+        when(bookRepository.findCatalogAfter(0L, Limit.of(2))).thenReturn(List.of(first));
+        when(availabilityIndex.isAvailable(1L)).thenReturn(true);
 
         // When
-        List<Book> result = bookService.getAllBooks();
+        List<BookResponse> result = bookService.getCatalogPage(null, 2);
+
+        // Then
+        assertEquals(List.of(new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", true)), result);
+        verify(bookRepository).findCatalogAfter(0L, Limit.of(2));
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void getCatalogPage_WithCursor_Success() {
+        // Given
+        when(bookRepository.findCatalogAfter(1L, Limit.of(50))).thenReturn(Collections.emptyList());
+
+        // When
+        List<BookResponse> result = bookService.getCatalogPage(1L, 50);
 
         // Then
-        assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(bookRepository).findAll();
+        verify(bookRepository).findCatalogAfter(1L, Limit.of(50));
+    }
+
+    @Test
+    void getCatalogPage_InvalidLimit_ThrowsException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> bookService.getCatalogPage(null, 0)
+        );
+        assertEquals("Page limit must be between 1 and " + BookServiceImpl.MAX_PAGE_SIZE, exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+            () -> bookService.getCatalogPage(null, BookServiceImpl.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void searchCatalog_AddsAvailabilityToHits() {
+        // Given
+        CatalogEntry hit = new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch");
+        when(catalogSearchIndex.search("effective jav", 0, 20)).thenReturn(new PagedResult<>(List.of(hit), 7));
+        when(availabilityIndex.isAvailable(1L)).thenReturn(false);
+
+        // When
+        PagedResult<BookResponse> result = bookService.searchCatalog("effective jav", 0, 20);
+
+        // Then
+        assertEquals(List.of(new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", false)), result.items());
+        assertEquals(7, result.total());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void searchCatalog_InvalidArguments_ThrowsException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> bookService.searchCatalog("  ", 0, 20)
+        );
+        assertEquals("Search query is required", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchCatalog("java", -1, 20));
+        assertThrows(IllegalArgumentException.class,
+            () -> bookService.searchCatalog("java", 0, BookServiceImpl.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(catalogSearchIndex);
+    }
+
+    @Test
+    void forEachCatalogEntry_VisitsEveryBook() {
+        // Given
+        when(bookRepository.streamCatalog()).thenReturn(Stream.of(
+            new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch"),
+            new CatalogEntry(2L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt")));
+        when(availabilityIndex.isAvailable(1L)).thenReturn(true);
+        when(availabilityIndex.isAvailable(2L)).thenReturn(false);
+        List<BookResponse> visited = new ArrayList<>();
+
+        // When
+        bookService.forEachCatalogEntry(visited::add);
+
+        // Then
+        assertEquals(List.of(
+            new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", true),
+            new BookResponse(2L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt", false)), visited);
+    }
+
+    @Test
+    void getCatalogEntry_UsesProjectionAndIndexedAvailability() {
+        // Given
+        when(bookRepository.findCatalogEntryById(1L)).thenReturn(Optional.of(
+            new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch")));
+        when(availabilityIndex.isAvailable(1L)).thenReturn(false);
+
+        // When
+        Optional<BookResponse> result = bookService.getCatalogEntry(1L);
+
+        // Then
+        assertEquals(Optional.of(new BookResponse(1L, "978-0134685991", "Effective Java", "Joshua Bloch", false)), result);
+        verify(bookRepository, never()).findById(any());
+    }
+
+    @Test
+    void getCatalogEntry_NotFound() {
+        // Given
+        when(bookRepository.findCatalogEntryById(999L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<BookResponse> result = bookService.getCatalogEntry(999L);
+
+        // Then
+        assertFalse(result.isPresent());
     }
 
     @Test
@@ -247,4 +373,48 @@ class BookServiceTest {
         assertEquals("Book ID cannot be null", exception.getMessage());
         verify(bookRepository, never()).findById(any());
     }
+
+    @Test
+    void registerBooks_LooksUpIsbnsOnceAndSavesInOneBatch() {
+        // Given
+        Book first = new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt");
+        Book second = new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt");
+        Book third = new Book("978-0134685991", "Effective Java", "Joshua Bloch");
+        when(bookRepository.findIsbnDetailsByIsbnIn(anyCollection())).thenReturn(
+            List.of(new IsbnDetails("978-0134685991", "Effective Java", "Joshua Bloch")));
+
+        // When
+        List<OperationResult<Book>> results = bookService.registerBooks(List.of(first, second, third));
+
+        // Then
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(OperationResult::isSuccess));
+        verify(bookRepository).findIsbnDetailsByIsbnIn(List.of("978-0321356680", "978-0134685991"));
+        verify(bookRepository).saveAll(List.of(first, second, third));
+        verify(bookRepository, never()).findByIsbn(anyString());
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void registerBooks_ReportsFailuresPerBookAndSavesTheRest() {
+        // Given
+        Book conflictsWithDatabase = new Book("978-0134685991", "Other Title", "Joshua Bloch");
+        Book invalid = new Book("not-an-isbn", "Some Title", "Some Author");
+        Book accepted = new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt");
+        Book conflictsWithBatch = new Book("978-0321356680", "Another Title", "Herbert Schildt");
+        when(bookRepository.findIsbnDetailsByIsbnIn(anyCollection())).thenReturn(
+            List.of(new IsbnDetails("978-0134685991", "Effective Java", "Joshua Bloch")));
+
+        // When
+        List<OperationResult<Book>> results = bookService.registerBooks(
+            List.of(conflictsWithDatabase, invalid, accepted, conflictsWithBatch));
+
+        // Then
+        assertEquals(ErrorCodes.ISBN_CONFLICT, ((OperationResult.Failure<Book>) results.get(0)).code());
+        assertEquals(ErrorCodes.VALIDATION_ERROR, ((OperationResult.Failure<Book>) results.get(1)).code());
+        assertEquals("Invalid ISBN format", ((OperationResult.Failure<Book>) results.get(1)).error());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(ErrorCodes.ISBN_CONFLICT, ((OperationResult.Failure<Book>) results.get(3)).code());
+        verify(bookRepository).saveAll(List.of(accepted));
+    }
 }
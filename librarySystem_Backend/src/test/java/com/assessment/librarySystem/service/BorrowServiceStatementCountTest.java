@@ -0,0 +1,209 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.dto.response.BorrowOperationResponse;
+import com.assessment.librarySystem.mapper.BorrowRecordMapper;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression guard for the number of SQL statements a borrow or return costs.
+ * Pooled sequence calls are amortized over 50 IDs and are not counted.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.assessment.librarySystem.service.BorrowServiceStatementCountTest$SqlRecorder")
+@ActiveProfiles("test")
+@Transactional
+class BorrowServiceStatementCountTest {
+
+    private static final long MAX_BORROW_STATEMENTS = 2;
+    /** Active loan with borrower and book, the head of the book's hold queue, then the update */
+    private static final long MAX_RETURN_STATEMENTS = 3;
+    /** Borrower lookup, one set-based read, one batched write - regardless of batch size */
+    private static final long MAX_BATCH_STATEMENTS = 3;
+    /** As a batch borrow, plus one read of all the returned books' hold queues */
+    private static final long MAX_BATCH_RETURN_STATEMENTS = 4;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private BorrowRecordMapper borrowRecordMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Borrower borrower;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        borrower = borrowerRepository.save(new Borrower("John Doe", "john.statements@example.com"));
+        book = bookRepository.save(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+        entityManager.flush();
+        entityManager.clear();
+        SqlRecorder.reset();
+    }
+
+    @AfterTransaction
+    void tearDown() {
+        // Batch borrows run in their own transaction, so the tests calling them commit their fixtures
+        borrowRecordRepository.deleteAll();
+        bookRepository.deleteAll();
+        borrowerRepository.deleteAll();
+    }
+
+    @Test
+    void borrowBook_UsesAtMostTwoStatements() {
+        // When
+        BorrowRecord record = borrowService.borrowBook(borrower.getId(), book.getId());
+        entityManager.flush();
+
+        // Then
+        assertNotNull(record.getId());
+        assertEquals("John Doe", record.getBorrower().getName());
+        assertEquals("Effective Java", record.getBook().getTitle());
+        List<String> statements = SqlRecorder.statements();
+        assertTrue(statements.size() <= MAX_BORROW_STATEMENTS, "borrowBook issued " + statements);
+    }
+
+    @Test
+    void borrowBook_AlreadyBorrowed_UsesOneStatement() {
+        // Given
+        borrowService.borrowBook(borrower.getId(), book.getId());
+        entityManager.flush();
+        entityManager.clear();
+        SqlRecorder.reset();
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+            () -> borrowService.borrowBook(borrower.getId(), book.getId()));
+        assertEquals(1, SqlRecorder.statements().size(), SqlRecorder.statements().toString());
+    }
+
+    @Test
+    void borrowAndReturnBooks_CostTheSameForTenBooksAsForOne() {
+        // Given
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bookIds.add(bookRepository.save(new Book("978-01346859" + (10 + i), "Book " + i, "Author")).getId());
+        }
+        commitTestTransaction();
+        SqlRecorder.reset();
+
+        // When
+        var borrowed = borrowService.borrowBooks(borrower.getId(), bookIds);
+        List<String> borrowStatements = SqlRecorder.statements();
+        TestTransaction.start();
+        SqlRecorder.reset();
+        var returned = borrowService.returnBooks(borrower.getId(), bookIds);
+        entityManager.flush();
+
+        // Then
+        assertTrue(borrowed.stream().allMatch(result -> result.isSuccess()));
+        assertTrue(returned.stream().allMatch(result -> result.isSuccess()));
+        assertTrue(borrowStatements.size() <= MAX_BATCH_STATEMENTS, "borrowBooks issued " + borrowStatements);
+        assertTrue(SqlRecorder.statements().size() <= MAX_BATCH_RETURN_STATEMENTS, "returnBooks issued " + SqlRecorder.statements());
+    }
+
+    @Test
+    void returnBook_LoadsEverythingTheResponseNeedsInOneQuery() {
+        // Given
+        borrowService.borrowBook(borrower.getId(), book.getId());
+        entityManager.flush();
+        entityManager.clear();
+        SqlRecorder.reset();
+
+        // When
+        BorrowRecord record = borrowService.returnBook(borrower.getId(), book.getId());
+        BorrowOperationResponse response = borrowRecordMapper.toReturnOperationResponse(record);
+        entityManager.flush();
+
+        // Then
+        assertEquals("Book 'Effective Java' has been successfully returned by John Doe", response.message());
+        List<String> statements = SqlRecorder.statements();
+        assertTrue(statements.size() <= MAX_RETURN_STATEMENTS, "returnBook issued " + statements);
+    }
+
+    @Test
+    void mappingLazilyLoadedRecords_InitializesProxiesInBatches() {
+        // Given
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bookIds.add(bookRepository.save(new Book("978-01346859" + (10 + i), "Book " + i, "Author")).getId());
+        }
+        commitTestTransaction();
+        borrowService.borrowBooks(borrower.getId(), bookIds);
+        TestTransaction.start();
+        // Committed borrowers and books are in the second-level cache; measure the loads the mapping would issue
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        SqlRecorder.reset();
+
+        // When: records loaded without their associations, as any plain finder would
+        List<BorrowOperationResponse> responses = borrowRecordRepository.findAll().stream()
+            .map(borrowRecordMapper::toBorrowOperationResponse)
+            .toList();
+
+        // Then: the records, then one query each for the borrower and the books
+        assertEquals(20, responses.size());
+        assertEquals(3, SqlRecorder.statements().size(), SqlRecorder.statements().toString());
+    }
+
+    private void commitTestTransaction() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares, except ID sequence calls
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            if (!sql.contains("next value for") && !sql.contains("nextval(")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static void reset() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+}
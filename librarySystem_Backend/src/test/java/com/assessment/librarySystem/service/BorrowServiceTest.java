@@ -1,25 +1,46 @@
 package com.assessment.librarySystem.service;
 
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.LoanStatus;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
+import com.assessment.librarySystem.dto.response.LoanResponse;
+import com.assessment.librarySystem.event.BookAvailabilityChangedEvent;
 import com.assessment.librarySystem.model.Book;
 import com.assessment.librarySystem.model.BorrowRecord;
 import com.assessment.librarySystem.model.Borrower;
 import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.projection.BookAvailability;
+import com.assessment.librarySystem.repository.projection.BorrowCandidate;
 import com.assessment.librarySystem.service.impl.BorrowServiceImpl;
 import com.assessment.librarySystem.service.interfaces.BookService;
 import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.HoldService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +56,18 @@ class BorrowServiceTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private HoldService holdService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private BorrowServiceImpl borrowService;
 
@@ -58,10 +91,9 @@ class BorrowServiceTest {
     @Test
     void borrowBook_Success() {
         // Given
-        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
-        when(bookService.getBookById(1L)).thenReturn(Optional.of(validBook));
-        when(borrowRecordRepository.findByBookIdAndReturnDateIsNull(1L)).thenReturn(Optional.empty());
-        when(borrowRecordRepository.save(any(BorrowRecord.class))).thenReturn(validBorrowRecord);
+        when(borrowRecordRepository.findBorrowCandidate(1L, 1L))
+            .thenReturn(Optional.of(new BorrowCandidate(validBorrower, validBook, true, null)));
+        when(borrowRecordRepository.saveAndFlush(any(BorrowRecord.class))).thenReturn(validBorrowRecord);
 
         // When
         BorrowRecord result = borrowService.borrowBook(1L, 1L);
@@ -69,10 +101,45 @@ class BorrowServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(validBorrowRecord, result);
-        verify(borrowerService, times(2)).getBorrowerById(1L); // Called in validation and createBorrowRecord
-        verify(bookService, times(2)).getBookById(1L); // Called in validation and createBorrowRecord
-        verify(borrowRecordRepository).findByBookIdAndReturnDateIsNull(1L);
-        verify(borrowRecordRepository).save(any(BorrowRecord.class));
+        verify(borrowRecordRepository).findBorrowCandidate(1L, 1L);
+        verify(borrowRecordRepository).saveAndFlush(argThat(record ->
+            record.getBorrower() == validBorrower && record.getBook() == validBook && record.getBorrowDate() != null));
+        // Borrower and book come from the candidate query; no separate lookups
+        verifyNoInteractions(borrowerService, bookService, holdService);
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(1L,
+            new BookStatus.Borrowed(1L, "John Doe", validBorrowRecord.getBorrowDate())));
+    }
+
+    @Test
+    void borrowBook_KeptForBorrowersHold_FulfilsHold() {
+        // Given
+        when(borrowRecordRepository.findBorrowCandidate(1L, 1L))
+            .thenReturn(Optional.of(new BorrowCandidate(validBorrower, validBook, true, 1L)));
+        when(holdService.fulfil(1L, List.of(1L))).thenReturn(1);
+        when(borrowRecordRepository.saveAndFlush(any(BorrowRecord.class))).thenReturn(validBorrowRecord);
+
+        // When
+        BorrowRecord result = borrowService.borrowBook(1L, 1L);
+
+        // Then
+        assertEquals(validBorrowRecord, result);
+        verify(holdService).fulfil(1L, List.of(1L));
+        assertEquals(0, rejections("reserved"));
+    }
+
+    @Test
+    void borrowBook_KeptForAnotherBorrower_ThrowsException() {
+        // Given
+        when(borrowRecordRepository.findBorrowCandidate(1L, 1L))
+            .thenReturn(Optional.of(new BorrowCandidate(validBorrower, validBook, true, 2L)));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> borrowService.borrowBook(1L, 1L));
+        assertEquals("Book with ID 1 is being kept for another borrower", exception.getMessage());
+        verify(borrowRecordRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(holdService, eventPublisher);
+        assertEquals(1, rejections("reserved"));
     }
 
     @Test
@@ -83,7 +150,7 @@ class BorrowServiceTest {
             () -> borrowService.borrowBook(null, 1L)
         );
         assertEquals("Borrower ID cannot be null", exception.getMessage());
-        verify(borrowRecordRepository, never()).save(any());
+        verify(borrowRecordRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -94,12 +161,13 @@ class BorrowServiceTest {
             () -> borrowService.borrowBook(1L, null)
         );
         assertEquals("Book ID cannot be null", exception.getMessage());
-        verify(borrowRecordRepository, never()).save(any());
+        verify(borrowRecordRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void borrowBook_BorrowerNotFound_ThrowsException() {
         // Given
+        when(borrowRecordRepository.findBorrowCandidate(999L, 1L)).thenReturn(Optional.empty());
         when(borrowerService.getBorrowerById(999L)).thenReturn(Optional.empty());
 
         // When & Then
@@ -109,14 +177,15 @@ class BorrowServiceTest {
         );
         assertEquals("Borrower not found with ID: 999", exception.getMessage());
         verify(borrowerService).getBorrowerById(999L);
-        verify(borrowRecordRepository, never()).save(any());
+        verify(borrowRecordRepository, never()).saveAndFlush(any());
+        assertEquals(1, rejections("borrower_not_found"));
     }
 
     @Test
     void borrowBook_BookNotFound_ThrowsException() {
         // Given
+        when(borrowRecordRepository.findBorrowCandidate(1L, 999L)).thenReturn(Optional.empty());
         when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
-        when(bookService.getBookById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -125,36 +194,32 @@ class BorrowServiceTest {
         );
         assertEquals("Book not found with ID: 999", exception.getMessage());
         verify(borrowerService).getBorrowerById(1L);
-        verify(bookService).getBookById(999L);
-        verify(borrowRecordRepository, never()).save(any());
+        verify(borrowRecordRepository, never()).saveAndFlush(any());
+        assertEquals(1, rejections("book_not_found"));
+        assertEquals(0, rejections("borrower_not_found"));
     }
 
     @Test
     void borrowBook_BookAlreadyBorrowed_ThrowsException() {
         // Given
-        BorrowRecord existingBorrowRecord = new BorrowRecord(validBorrower, validBook);
-        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
-        when(bookService.getBookById(1L)).thenReturn(Optional.of(validBook));
-        when(borrowRecordRepository.findByBookIdAndReturnDateIsNull(1L))
-            .thenReturn(Optional.of(existingBorrowRecord));
+        when(borrowRecordRepository.findBorrowCandidate(1L, 1L))
+            .thenReturn(Optional.of(new BorrowCandidate(validBorrower, validBook, false, null)));
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
             () -> borrowService.borrowBook(1L, 1L)
         );
         assertEquals("Book with ID 1 is already borrowed", exception.getMessage());
-        verify(borrowerService).getBorrowerById(1L);
-        verify(bookService).getBookById(1L);
-        verify(borrowRecordRepository).findByBookIdAndReturnDateIsNull(1L);
-        verify(borrowRecordRepository, never()).save(any());
+        verify(borrowRecordRepository).findBorrowCandidate(1L, 1L);
+        verify(borrowRecordRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(borrowerService, bookService);
+        assertEquals(1, rejections("already_borrowed"));
     }
 
     @Test
     void returnBook_Success() {
         // Given
-        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
-        when(bookService.getBookById(1L)).thenReturn(Optional.of(validBook));
         when(borrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull(1L, 1L))
             .thenReturn(Optional.of(validBorrowRecord));
         when(borrowRecordRepository.save(any(BorrowRecord.class))).thenReturn(validBorrowRecord);
@@ -165,10 +230,27 @@ class BorrowServiceTest {
         // Then
         assertNotNull(result);
         assertNotNull(result.getReturnDate());
-        verify(borrowerService).getBorrowerById(1L);
-        verify(bookService).getBookById(1L);
-        verify(borrowRecordRepository, times(2)).findByBorrowerIdAndBookIdAndReturnDateIsNull(1L, 1L); // Called in validation and main logic
+        verify(borrowRecordRepository).findByBorrowerIdAndBookIdAndReturnDateIsNull(1L, 1L);
         verify(borrowRecordRepository).save(validBorrowRecord);
+        verifyNoInteractions(borrowerService, bookService);
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(1L, new BookStatus.Available()));
+    }
+
+    @Test
+    void returnBook_WithQueue_KeepsBookForNextHolder() {
+        // Given
+        BookStatus.Reserved reservation = new BookStatus.Reserved(2L, "Jane Smith", LocalDateTime.now());
+        when(borrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull(1L, 1L))
+            .thenReturn(Optional.of(validBorrowRecord));
+        when(holdService.handOff(List.of(1L))).thenReturn(Map.of(1L, reservation));
+        when(borrowRecordRepository.save(any(BorrowRecord.class))).thenReturn(validBorrowRecord);
+
+        // When
+        borrowService.returnBook(1L, 1L);
+
+        // Then
+        assertNotNull(validBorrowRecord.getReturnDate());
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(1L, reservation));
     }
 
     @Test
@@ -196,6 +278,8 @@ class BorrowServiceTest {
     @Test
     void returnBook_BorrowerNotFound_ThrowsException() {
         // Given
+        when(borrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull(999L, 1L))
+            .thenReturn(Optional.empty());
         when(borrowerService.getBorrowerById(999L)).thenReturn(Optional.empty());
 
         // When & Then
@@ -211,6 +295,8 @@ class BorrowServiceTest {
     @Test
     void returnBook_BookNotFound_ThrowsException() {
         // Given
+        when(borrowRecordRepository.findByBorrowerIdAndBookIdAndReturnDateIsNull(1L, 999L))
+            .thenReturn(Optional.empty());
         when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
         when(bookService.getBookById(999L)).thenReturn(Optional.empty());
 
@@ -244,4 +330,169 @@ class BorrowServiceTest {
         verify(borrowRecordRepository, times(1)).findByBorrowerIdAndBookIdAndReturnDateIsNull(1L, 1L);
         verify(borrowRecordRepository, never()).save(any());
     }
+
+    @Test
+    void borrowBooks_ChecksAllBooksInOneQueryAndSavesTogether() {
+        // Given
+        Book borrowedBook = new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt");
+        borrowedBook.setId(2L);
+        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
+        when(borrowRecordRepository.findBookAvailability(anyCollection())).thenReturn(List.of(
+            new BookAvailability(validBook, true, null), new BookAvailability(borrowedBook, false, null)));
+
+        // When
+        List<OperationResult<BorrowRecord>> results = borrowService.borrowBooks(1L, List.of(1L, 2L, 3L, 1L));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertSame(validBook, results.get(0).getData().getBook());
+        assertEquals(ErrorCodes.BOOK_UNAVAILABLE, ((OperationResult.Failure<BorrowRecord>) results.get(1)).code());
+        assertEquals(ErrorCodes.BOOK_NOT_FOUND, ((OperationResult.Failure<BorrowRecord>) results.get(2)).code());
+        assertEquals(ErrorCodes.DUPLICATE_ITEM, ((OperationResult.Failure<BorrowRecord>) results.get(3)).code());
+        verify(borrowerService, times(1)).getBorrowerById(1L);
+        verify(borrowRecordRepository, times(1)).findBookAvailability(anyCollection());
+        verify(borrowRecordRepository).saveAllAndFlush(argThat(records -> ((List<BorrowRecord>) records).size() == 1));
+        verify(borrowRecordRepository, never()).findBorrowCandidate(any(), any());
+        verifyNoInteractions(holdService);
+    }
+
+    @Test
+    void borrowBooks_OnlyTakesBooksKeptForThisBorrower() {
+        // Given
+        Book heldForOther = new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt");
+        heldForOther.setId(2L);
+        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
+        when(borrowRecordRepository.findBookAvailability(anyCollection())).thenReturn(List.of(
+            new BookAvailability(validBook, true, 1L), new BookAvailability(heldForOther, true, 2L)));
+        when(holdService.fulfil(1L, List.of(1L))).thenReturn(1);
+
+        // When
+        List<OperationResult<BorrowRecord>> results = borrowService.borrowBooks(1L, List.of(1L, 2L));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(ErrorCodes.BOOK_UNAVAILABLE, ((OperationResult.Failure<BorrowRecord>) results.get(1)).code());
+        verify(holdService).fulfil(1L, List.of(1L));
+        assertEquals(1, rejections("reserved"));
+    }
+
+    @Test
+    void borrowBooks_LostRaceOnActiveLoanConstraint_RunsBatchOnceMore() {
+        // Given
+        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
+        when(borrowRecordRepository.findBookAvailability(anyCollection()))
+            .thenReturn(List.of(new BookAvailability(validBook, true, null)))
+            .thenReturn(List.of(new BookAvailability(validBook, false, null)));
+        when(borrowRecordRepository.saveAllAndFlush(any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenReturn(List.of());
+
+        // When
+        List<OperationResult<BorrowRecord>> results = borrowService.borrowBooks(1L, List.of(1L));
+
+        // Then
+        assertEquals(ErrorCodes.BOOK_UNAVAILABLE, ((OperationResult.Failure<BorrowRecord>) results.get(0)).code());
+        verify(borrowRecordRepository, times(2)).findBookAvailability(anyCollection());
+        verify(eventPublisher, never()).publishEvent(any());
+        // Only the attempt that committed is counted
+        assertEquals(1, rejections("already_borrowed"));
+    }
+
+    @Test
+    void borrowBooks_BorrowerNotFound_ThrowsException() {
+        // Given
+        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> borrowService.borrowBooks(1L, List.of(1L)));
+        assertEquals("Borrower not found with ID: 1", exception.getMessage());
+        verify(borrowRecordRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void returnBooks_ClosesActiveLoansAndReportsTheRest() {
+        // Given
+        when(borrowerService.getBorrowerById(1L)).thenReturn(Optional.of(validBorrower));
+        when(borrowRecordRepository.findActiveLoans(eq(1L), anyCollection())).thenReturn(List.of(validBorrowRecord));
+
+        // When
+        List<OperationResult<BorrowRecord>> results = borrowService.returnBooks(1L, List.of(1L, 2L));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertNotNull(validBorrowRecord.getReturnDate());
+        assertEquals(ErrorCodes.NO_ACTIVE_LOAN, ((OperationResult.Failure<BorrowRecord>) results.get(1)).code());
+        verify(borrowRecordRepository, never()).findByBorrowerIdAndBookIdAndReturnDateIsNull(any(), any());
+        // Only the returned book's queue is consulted, in one call
+        verify(holdService).handOff(List.of(1L));
+    }
+
+    @Test
+    void getLoans_FirstPageOfActiveLoans() {
+        // Given
+        LoanResponse loan = new LoanResponse(1L, 1L, "978-0134685991", "Effective Java", "Joshua Bloch",
+            validBorrowRecord.getBorrowDate(), null);
+        when(borrowRecordRepository.findUnreturnedLoans(1L, Limit.of(10))).thenReturn(List.of(loan));
+
+        // When
+        List<LoanResponse> result = borrowService.getLoans(1L, LoanStatus.ACTIVE, null, 10);
+
+        // Then
+        assertEquals(List.of(loan), result);
+        verify(borrowerService, never()).getBorrowerSummary(any());
+    }
+
+    @Test
+    void getLoans_AfterCursorIncludesBothStatuses() {
+        // Given
+        when(borrowRecordRepository.findLoansAfter(1L, 5L, Limit.of(10))).thenReturn(List.of());
+        when(borrowerService.getBorrowerSummary(1L)).thenReturn(Optional.of(
+            new BorrowerResponse(1L, "John Doe", "john@example.com")));
+
+        // When
+        List<LoanResponse> result = borrowService.getLoans(1L, null, 5L, 10);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(borrowRecordRepository, never()).findLoans(any(), any());
+    }
+
+    @Test
+    void getLoans_AfterCursorOfReturnedLoans() {
+        // Given
+        LoanResponse loan = new LoanResponse(4L, 1L, "978-0134685991", "Effective Java", "Joshua Bloch",
+            validBorrowRecord.getBorrowDate(), validBorrowRecord.getBorrowDate().plusDays(7));
+        when(borrowRecordRepository.findReturnedLoansAfter(1L, 5L, Limit.of(10))).thenReturn(List.of(loan));
+
+        // When
+        List<LoanResponse> result = borrowService.getLoans(1L, LoanStatus.RETURNED, 5L, 10);
+
+        // Then
+        assertEquals(List.of(loan), result);
+        verify(borrowRecordRepository, never()).findLoansAfter(any(), any(), any());
+    }
+
+    @Test
+    void getLoans_BorrowerNotFound_ThrowsException() {
+        // Given
+        when(borrowRecordRepository.findReturnedLoans(999L, Limit.of(10))).thenReturn(List.of());
+        when(borrowerService.getBorrowerSummary(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> borrowService.getLoans(999L, LoanStatus.RETURNED, null, 10));
+        assertEquals("Borrower not found with ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void getLoans_InvalidLimit_ThrowsException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> borrowService.getLoans(1L, null, null, 0));
+        verifyNoInteractions(borrowRecordRepository);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get(BorrowServiceImpl.BORROW_REJECTIONS_METRIC).tag("reason", reason).counter().count();
+    }
 }
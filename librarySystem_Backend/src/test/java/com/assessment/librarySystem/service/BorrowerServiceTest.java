@@ -1,5 +1,8 @@
 package com.assessment.librarySystem.service;
 
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
 import com.assessment.librarySystem.model.Borrower;
 import com.assessment.librarySystem.repository.BorrowerRepository;
 import com.assessment.librarySystem.service.impl.BorrowerServiceImpl;
@@ -9,12 +12,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +33,9 @@ class BorrowerServiceTest {
     @Mock
     private BorrowerRepository borrowerRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private BorrowerServiceImpl borrowerService;
 
@@ -151,6 +162,31 @@ class BorrowerServiceTest {
         verify(borrowerRepository, never()).save(any());
     }
 
+    @Test
+    void getBorrowerSummary_UsesProjection() {
+        // Given
+        BorrowerResponse summary = new BorrowerResponse(1L, "John Doe", "john@example.com");
+        when(borrowerRepository.findResponseById(1L)).thenReturn(Optional.of(summary));
+
+        // When
+        Optional<BorrowerResponse> result = borrowerService.getBorrowerSummary(1L);
+
+        // Then
+        assertEquals(Optional.of(summary), result);
+        verify(borrowerRepository, never()).findById(any());
+    }
+
+    @Test
+    void getBorrowerSummary_NullId_ThrowsException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> borrowerService.getBorrowerSummary(null)
+        );
+        assertEquals("Borrower ID cannot be null", exception.getMessage());
+        verify(borrowerRepository, never()).findResponseById(any());
+    }
+
     @Test
     void getBorrowerById_Success() {
         // Given
@@ -188,4 +224,48 @@ class BorrowerServiceTest {
         assertEquals("Borrower ID cannot be null", exception.getMessage());
         verify(borrowerRepository, never()).findById(any());
     }
+
+    @Test
+    void registerBorrowers_ChecksEmailsOnceAndReportsConflictsPerRow() {
+        // Given
+        Borrower registered = new Borrower("John Doe", "john@example.com");
+        Borrower accepted = new Borrower("Jane Smith", "jane@example.com");
+        Borrower repeated = new Borrower("Jane Again", "jane@example.com");
+        Borrower invalid = new Borrower("X", "not-an-email");
+        when(borrowerRepository.findRegisteredEmails(anyCollection())).thenReturn(List.of("john@example.com"));
+
+        // When
+        List<OperationResult<Borrower>> results = borrowerService.registerBorrowers(
+            List.of(registered, accepted, repeated, invalid));
+
+        // Then
+        assertEquals(ErrorCodes.EMAIL_CONFLICT, ((OperationResult.Failure<Borrower>) results.get(0)).code());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals("Duplicate email in batch: jane@example.com", ((OperationResult.Failure<Borrower>) results.get(2)).error());
+        assertEquals(ErrorCodes.VALIDATION_ERROR, ((OperationResult.Failure<Borrower>) results.get(3)).code());
+        verify(borrowerRepository).findRegisteredEmails(List.of("john@example.com", "jane@example.com", "not-an-email"));
+        verify(borrowerRepository).saveAllAndFlush(List.of(accepted));
+        verify(borrowerRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void registerBorrowers_LostRaceOnEmailConstraint_RunsBatchOnceMore() {
+        // Given: the email is claimed between the lookup and the insert
+        Borrower borrower = new Borrower("Jane Smith", "jane@example.com");
+        when(borrowerRepository.findRegisteredEmails(anyCollection()))
+            .thenReturn(List.of())
+            .thenReturn(List.of("jane@example.com"));
+        when(borrowerRepository.saveAllAndFlush(anyList()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenReturn(List.of());
+
+        // When
+        List<OperationResult<Borrower>> results = borrowerService.registerBorrowers(List.of(borrower));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals("Email already exists: jane@example.com", ((OperationResult.Failure<Borrower>) results.get(0)).error());
+        verify(borrowerRepository, times(2)).findRegisteredEmails(List.of("jane@example.com"));
+        verify(transactionManager, times(1)).rollback(any());
+    }
 }
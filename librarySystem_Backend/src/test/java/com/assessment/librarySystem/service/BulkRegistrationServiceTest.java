@@ -0,0 +1,195 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.common.BulkFormat;
+import com.assessment.librarySystem.common.ErrorCodes;
+import com.assessment.librarySystem.common.OperationResult;
+import com.assessment.librarySystem.dto.response.BookResponse;
+import com.assessment.librarySystem.dto.response.BorrowerResponse;
+import com.assessment.librarySystem.dto.response.BulkOperationResponse;
+import com.assessment.librarySystem.mapper.BookMapper;
+import com.assessment.librarySystem.mapper.BorrowerMapper;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.service.impl.BulkRegistrationServiceImpl;
+import com.assessment.librarySystem.service.interfaces.BookService;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import com.assessment.librarySystem.service.interfaces.BulkRegistrationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class BulkRegistrationServiceTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BorrowerService borrowerService;
+
+    private BulkRegistrationServiceImpl bulkRegistrationService;
+
+    @BeforeEach
+    void setUp() {
+        bulkRegistrationService = new BulkRegistrationServiceImpl(bookService, borrowerService, new BookMapper(),
+            new BorrowerMapper(), new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void registerBooks_JsonArray_ReportsEveryRow() throws Exception {
+        // Given
+        stubBookRegistration();
+        String body = """
+            [{"isbn":"978-0134685991","title":"Effective Java","author":"Joshua Bloch"},
+             {"isbn":"bad-isbn","title":"Some Title","author":"Some Author"},
+             {"isbn":"978-0321356680","title":"Java: The Complete Reference","author":"Herbert Schildt"}]
+            """;
+
+        // When
+        BulkOperationResponse<BookResponse> response = bulkRegistrationService.registerBooks(rows(body), BulkFormat.JSON);
+
+        // Then
+        assertEquals(3, response.total());
+        assertEquals(2, response.succeeded());
+        assertEquals("978-0134685991", response.results().get(0).data().isbn());
+        assertEquals(1, response.results().get(1).index());
+        assertFalse(response.results().get(1).success());
+        assertEquals(ErrorCodes.VALIDATION_ERROR, response.results().get(1).errorCode());
+        assertEquals("Java: The Complete Reference", response.results().get(2).data().title());
+        // The invalid row never reaches the book service
+        verify(bookService).registerBooks(argThat(books -> books.size() == 2));
+    }
+
+    @Test
+    void registerBooks_Ndjson() throws Exception {
+        // Given
+        stubBookRegistration();
+        String body = """
+            {"isbn":"978-0134685991","title":"Effective Java","author":"Joshua Bloch"}
+            {"isbn":"978-0321356680","title":"Java: The Complete Reference","author":"Herbert Schildt"}
+            """;
+
+        // When
+        BulkOperationResponse<BookResponse> response = bulkRegistrationService.registerBooks(rows(body), BulkFormat.JSON);
+
+        // Then
+        assertEquals(2, response.total());
+        assertEquals(2, response.succeeded());
+    }
+
+    @Test
+    void registerBooks_Csv() throws Exception {
+        // Given
+        stubBookRegistration();
+        String body = """
+            isbn,title,author
+            978-0134685991,Effective Java,Joshua Bloch
+            978-0321356680,"Java: The Complete Reference",Herbert Schildt
+            """;
+
+        // When
+        BulkOperationResponse<BookResponse> response = bulkRegistrationService.registerBooks(rows(body), BulkFormat.CSV);
+
+        // Then
+        assertEquals(2, response.total());
+        assertEquals("Herbert Schildt", response.results().get(1).data().author());
+    }
+
+    @Test
+    void registerBooks_MoreRowsThanChunk_RegistersChunkByChunk() throws Exception {
+        // Given
+        stubBookRegistration();
+        StringBuilder body = new StringBuilder("isbn,title,author\n");
+        int rows = BulkRegistrationService.CHUNK_SIZE + 1;
+        for (int i = 0; i < rows; i++) {
+            body.append(String.format("978-%010d,Title %d,Author %d%n", i, i, i));
+        }
+
+        // When
+        BulkOperationResponse<BookResponse> response =
+            bulkRegistrationService.registerBooks(rows(body.toString()), BulkFormat.CSV);
+
+        // Then
+        assertEquals(rows, response.succeeded());
+        assertEquals(rows - 1, response.results().get(rows - 1).index());
+        verify(bookService, times(2)).registerBooks(anyList());
+    }
+
+    @Test
+    void registerBooks_MoreRowsThanAllowed_ThrowsAfterLastFullChunk() {
+        // Given
+        stubBookRegistration();
+        StringBuilder body = new StringBuilder("isbn,title,author\n");
+        for (int i = 0; i <= BulkRegistrationService.MAX_ROWS; i++) {
+            body.append("978-0134685991,Effective Java,Joshua Bloch\n");
+        }
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> bulkRegistrationService.registerBooks(rows(body.toString()), BulkFormat.CSV));
+        assertTrue(exception.getMessage().startsWith("Bulk payload has more than " + BulkRegistrationService.MAX_ROWS + " rows"),
+            exception.getMessage());
+        verify(bookService, times(BulkRegistrationService.MAX_ROWS / BulkRegistrationService.CHUNK_SIZE)).registerBooks(anyList());
+    }
+
+    @Test
+    void registerBooks_MalformedPayload_ThrowsException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> bulkRegistrationService.registerBooks(rows("[{\"isbn\":\"978-0134685991\",\"title\":"), BulkFormat.JSON));
+        assertTrue(exception.getMessage().startsWith("Malformed bulk payload at row 0"), exception.getMessage());
+        verify(bookService, never()).registerBooks(anyList());
+    }
+
+    @Test
+    void registerBorrowers_Csv_ReportsConflicts() throws Exception {
+        // Given
+        when(borrowerService.registerBorrowers(anyList())).thenAnswer(invocation -> {
+            List<Borrower> borrowers = invocation.getArgument(0);
+            return List.of(
+                new OperationResult.Success<>(borrowers.get(0), "Borrower registered successfully"),
+                new OperationResult.Failure<Borrower>("Duplicate email in batch: jane@example.com", ErrorCodes.EMAIL_CONFLICT));
+        });
+        String body = """
+            name,email
+            Jane Smith,jane@example.com
+            Jane Again,jane@example.com
+            """;
+
+        // When
+        BulkOperationResponse<BorrowerResponse> response = bulkRegistrationService.registerBorrowers(rows(body), BulkFormat.CSV);
+
+        // Then
+        assertEquals(1, response.succeeded());
+        assertEquals("jane@example.com", response.results().get(0).data().email());
+        assertEquals(ErrorCodes.EMAIL_CONFLICT, response.results().get(1).errorCode());
+    }
+
+    private void stubBookRegistration() {
+        when(bookService.registerBooks(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            return books.stream()
+                .map(book -> (OperationResult<Book>) new OperationResult.Success<>(book, "Book registered successfully"))
+                .toList();
+        });
+    }
+
+    private static InputStream rows(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,132 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.common.PagedResult;
+import com.assessment.librarySystem.event.BookRegisteredEvent;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.projection.CatalogEntry;
+import com.assessment.librarySystem.service.impl.CatalogSearchIndexImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class CatalogSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private CatalogSearchIndexImpl searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new CatalogSearchIndexImpl(bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndex.destroy();
+    }
+
+    @Test
+    void warmUp_IndexesCatalogInPages() {
+        // Given
+        when(bookRepository.findCatalogAfter(0L, Limit.of(10_000))).thenReturn(List.of(
+            new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch"),
+            new CatalogEntry(2L, "978-0321356680", "Java: The Complete Reference", "Herbert Schildt")));
+
+        // When
+        searchIndex.warmUp();
+
+        // Then
+        PagedResult<CatalogEntry> result = searchIndex.search("bloch", 0, 10);
+        assertEquals(1, result.total());
+        assertEquals(new CatalogEntry(1L, "978-0134685991", "Effective Java", "Joshua Bloch"), result.items().get(0));
+        verify(bookRepository, times(1)).findCatalogAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void search_MatchesPrefixesAndRanksTitleAboveAuthor() {
+        // Given
+        searchIndex.onBookRegistered(new BookRegisteredEvent(1L, "9780000000001", "Gardening Basics", "Anna Java"));
+        searchIndex.onBookRegistered(new BookRegisteredEvent(2L, "9780000000002", "Java Concurrency in Practice", "Brian Goetz"));
+        searchIndex.onBookRegistered(new BookRegisteredEvent(3L, "9780000000003", "Cooking for One", "Carl Smith"));
+
+        // When
+        PagedResult<CatalogEntry> exact = searchIndex.search("Java", 0, 10);
+        PagedResult<CatalogEntry> prefix = searchIndex.search("concur goe", 0, 10);
+
+        // Then
+        assertEquals(List.of(2L, 1L), exact.items().stream().map(CatalogEntry::id).toList());
+        assertEquals(List.of(2L), prefix.items().stream().map(CatalogEntry::id).toList());
+        assertEquals(0, searchIndex.search("java cooking", 0, 10).total());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void search_PagesThroughRankedHits() {
+        // Given
+        for (long id = 1; id <= 25; id++) {
+            searchIndex.onBookRegistered(new BookRegisteredEvent(id, "978000000" + (1000 + id), "Java Volume " + id, "Author " + id));
+        }
+
+        // When
+        PagedResult<CatalogEntry> lastPage = searchIndex.search("java", 20, 10);
+
+        // Then
+        assertEquals(25, lastPage.total());
+        assertEquals(5, lastPage.items().size());
+    }
+
+    @Test
+    void onBookRegistered_SameIdReplacesEntry() {
+        // Given
+        searchIndex.onBookRegistered(new BookRegisteredEvent(1L, "9780000000001", "Old Title", "Someone"));
+
+        // When
+        searchIndex.onBookRegistered(new BookRegisteredEvent(1L, "9780000000001", "New Title", "Someone"));
+
+        // Then
+        assertEquals(1, searchIndex.search("title", 0, 10).total());
+        assertEquals(0, searchIndex.search("old", 0, 10).total());
+    }
+
+    @Test
+    void reconcile_RebuildsWhenBookCountDiffers() {
+        // Given
+        searchIndex.onBookRegistered(new BookRegisteredEvent(1L, "9780000000001", "Effective Java", "Joshua Bloch"));
+        when(bookRepository.count()).thenReturn(2L);
+        when(bookRepository.findCatalogAfter(0L, Limit.of(10_000))).thenReturn(List.of(
+            new CatalogEntry(1L, "9780000000001", "Effective Java", "Joshua Bloch"),
+            new CatalogEntry(2L, "9780000000002", "Clean Code", "Robert Martin")));
+
+        // When
+        searchIndex.reconcile();
+
+        // Then
+        assertEquals(1, searchIndex.search("clean", 0, 10).total());
+        assertEquals(1, searchIndex.search("java", 0, 10).total());
+    }
+
+    @Test
+    void search_TooManyTerms_ThrowsException() {
+        // Given
+        String query = "a1 b2 c3 d4 e5 f6 g7 h8 i9 j10 k11";
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> searchIndex.search(query, 0, 10));
+    }
+}
@@ -0,0 +1,191 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.impl.BorrowServiceImpl;
+import com.assessment.librarySystem.service.impl.LockingBorrowService;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single book with concurrent borrows; exactly one must win, whether the per-book lock or
+ * the active-loan unique index stops the rest
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcurrentBorrowTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Borrower> borrowers;
+
+    @BeforeEach
+    void setUp() {
+        borrowers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            borrowers.add(borrowerRepository.save(new Borrower("Borrower " + i, "concurrent" + i + "@example.com")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowRecordRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void borrowBook_ConcurrentBorrowersOfOneBook_ExactlyOneSucceeds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long bookId = bookRepository.save(
+                    new Book("978-0134685991", "Effective Java", "Joshua Bloch")).getId();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> attempts = new ArrayList<>();
+                for (Borrower borrower : borrowers) {
+                    attempts.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            borrowService.borrowBook(borrower.getId(), bookId);
+                            return true;
+                        } catch (IllegalStateException | DataIntegrityViolationException e) {
+                            return false;
+                        }
+                    }));
+                }
+
+                start.countDown();
+                int successes = 0;
+                for (Future<Boolean> attempt : attempts) {
+                    if (attempt.get(30, TimeUnit.SECONDS)) {
+                        successes++;
+                    }
+                }
+
+                assertEquals(1, successes, "round " + round);
+                assertTrue(borrowRecordRepository.findByBookIdAndReturnDateIsNull(bookId).isPresent());
+                // Only the committed borrow reaches the index; the rolled-back ones leave no trace
+                assertFalse(availabilityIndex.isAvailable(bookId), "round " + round);
+                Long winnerId = borrowRecordRepository.findByBookIdAndReturnDateIsNull(bookId).orElseThrow().getBorrower().getId();
+                borrowService.returnBook(winnerId, bookId);
+                assertTrue(availabilityIndex.isAvailable(bookId), "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void borrowBook_HotTitle_LosersAreRefusedWithoutReachingTheDatabase() throws Exception {
+        // Given
+        Long bookId = bookRepository.save(new Book("978-0321356680", "Java Concurrency in Practice", "Brian Goetz")).getId();
+        double fastFailsBefore = meterRegistry.counter(LockingBorrowService.FAST_FAILS_METRIC).count();
+        long databaseBorrowsBefore = databaseBorrows();
+        AtomicInteger constraintViolations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (Borrower borrower : borrowers) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        borrowService.borrowBook(borrower.getId(), bookId);
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    } catch (DataIntegrityViolationException e) {
+                        constraintViolations.incrementAndGet();
+                        return false;
+                    }
+                }));
+            }
+
+            // When
+            start.countDown();
+            int successes = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(30, TimeUnit.SECONDS)) {
+                    successes++;
+                }
+            }
+
+            // Then
+            assertEquals(1, successes);
+            assertEquals(0, constraintViolations.get());
+            assertEquals(THREADS - 1, meterRegistry.counter(LockingBorrowService.FAST_FAILS_METRIC).count() - fastFailsBefore);
+            assertEquals(1, databaseBorrows() - databaseBorrowsBefore);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long databaseBorrows() {
+        return meterRegistry.get("library.service")
+            .tag("class", BorrowServiceImpl.class.getName())
+            .tag("method", "borrowBook")
+            .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+    @Test
+    void activeLoanIndex_RejectsSecondActiveLoanWithNamedConstraint() {
+        // Given
+        Book book = bookRepository.save(new Book("978-0321356680", "Java: The Complete Reference", "Herbert Schildt"));
+        borrowRecordRepository.save(new BorrowRecord(borrowers.get(0), book));
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(
+            DataIntegrityViolationException.class,
+            () -> borrowRecordRepository.save(new BorrowRecord(borrowers.get(1), book))
+        );
+
+        // Then
+        ConstraintViolationException violation = assertInstanceOf(ConstraintViolationException.class, exception.getCause());
+        assertTrue(violation.getConstraintName().toLowerCase().contains(BorrowRecord.ACTIVE_LOAN_CONSTRAINT),
+            violation.getConstraintName());
+    }
+}
@@ -0,0 +1,185 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.dto.response.HoldResponse;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BookHold;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.model.HoldStatus;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BookRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.BorrowerRepository;
+import com.assessment.librarySystem.service.impl.HoldServiceImpl;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.BorrowService;
+import com.assessment.librarySystem.service.interfaces.HoldService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A book's hold queue end to end: returns hand the book to the first holder, who alone may borrow it,
+ * and the sweep passes on books that are not collected in time
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HoldQueueTest {
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private HoldServiceImpl holdSweep;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookHoldRepository bookHoldRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Borrower alice;
+    private Borrower bob;
+    private Borrower carol;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        alice = borrowerRepository.save(new Borrower("Alice", "alice.holds@example.com"));
+        bob = borrowerRepository.save(new Borrower("Bob", "bob.holds@example.com"));
+        carol = borrowerRepository.save(new Borrower("Carol", "carol.holds@example.com"));
+        bookId = bookRepository.save(new Book("978-0134685991", "Effective Java", "Joshua Bloch")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookHoldRepository.deleteAll();
+        borrowRecordRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void returnBook_HandsBookToHoldersInOrder() {
+        // Given
+        borrowService.borrowBook(alice.getId(), bookId);
+        HoldResponse bobsHold = holdService.placeHold(bookId, bob.getId());
+        HoldResponse carolsHold = holdService.placeHold(bookId, carol.getId());
+
+        // When
+        borrowService.returnBook(alice.getId(), bookId);
+
+        // Then: kept for Bob, and nobody else can take it
+        assertEquals(1, bobsHold.position());
+        assertEquals(2, carolsHold.position());
+        assertEquals(HoldStatus.READY, status(bobsHold));
+        assertFalse(availabilityIndex.isAvailable(bookId));
+        assertEquals(bob.getId(), availabilityIndex.reservedFor(bookId));
+        IllegalStateException refused = assertThrows(IllegalStateException.class,
+            () -> borrowService.borrowBook(carol.getId(), bookId));
+        assertEquals("Book with ID " + bookId + " is being kept for another borrower", refused.getMessage());
+
+        // When Bob collects it and brings it back
+        borrowService.borrowBook(bob.getId(), bookId);
+        assertEquals(HoldStatus.FULFILLED, status(bobsHold));
+        borrowService.returnBook(bob.getId(), bookId);
+
+        // Then it is Carol's turn
+        assertEquals(HoldStatus.READY, status(carolsHold));
+        assertEquals(carol.getId(), availabilityIndex.reservedFor(bookId));
+    }
+
+    @Test
+    void placeHold_FreeBook_IsRefused() {
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> holdService.placeHold(bookId, bob.getId()));
+        assertEquals(0, bookHoldRepository.count());
+    }
+
+    @Test
+    void sweep_PassesUncollectedBookToNextHolder() {
+        // Given: Bob has not collected the book in time, Carol is next
+        borrowService.borrowBook(alice.getId(), bookId);
+        HoldResponse bobsHold = holdService.placeHold(bookId, bob.getId());
+        HoldResponse carolsHold = holdService.placeHold(bookId, carol.getId());
+        borrowService.returnBook(alice.getId(), bookId);
+        jdbcTemplate.update("UPDATE book_holds SET ready_at = ? WHERE id = ?",
+            LocalDateTime.now().minusDays(3), bobsHold.holdId());
+
+        // When
+        holdSweep.sweep();
+
+        // Then
+        assertEquals(HoldStatus.EXPIRED, status(bobsHold));
+        assertEquals(HoldStatus.READY, status(carolsHold));
+        assertEquals(carol.getId(), availabilityIndex.reservedFor(bookId));
+
+        // When Carol does not collect it either
+        jdbcTemplate.update("UPDATE book_holds SET ready_at = ? WHERE id = ?",
+            LocalDateTime.now().minusDays(3), carolsHold.holdId());
+        holdSweep.sweep();
+
+        // Then the book is free again
+        assertEquals(HoldStatus.EXPIRED, status(carolsHold));
+        assertTrue(availabilityIndex.isAvailable(bookId));
+        assertNull(availabilityIndex.reservedFor(bookId));
+    }
+
+    @Test
+    void sweep_RestartsQueueLeftBehindFreeBook() {
+        // Given: a hold that missed the return that freed its book
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        BookHold hold = bookHoldRepository.save(new BookHold(bob, book));
+
+        // When
+        holdSweep.sweep();
+
+        // Then
+        assertEquals(HoldStatus.READY, bookHoldRepository.findById(hold.getId()).orElseThrow().getStatus());
+        assertEquals(bob.getId(), availabilityIndex.reservedFor(bookId));
+    }
+
+    @Test
+    void openHoldIndex_RejectsSecondOpenHoldWithNamedConstraint() {
+        // Given
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        bookHoldRepository.save(new BookHold(bob, book));
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+            () -> bookHoldRepository.saveAndFlush(new BookHold(bob, book)));
+
+        // Then
+        ConstraintViolationException violation = assertInstanceOf(ConstraintViolationException.class, exception.getCause());
+        assertTrue(violation.getConstraintName().toLowerCase().contains(BookHold.OPEN_HOLD_CONSTRAINT),
+            violation.getConstraintName());
+    }
+
+    private HoldStatus status(HoldResponse hold) {
+        return bookHoldRepository.findById(hold.holdId()).orElseThrow().getStatus();
+    }
+}
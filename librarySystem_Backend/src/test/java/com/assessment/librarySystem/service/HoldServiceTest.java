@@ -0,0 +1,168 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.common.BookStatus;
+import com.assessment.librarySystem.config.HoldProperties;
+import com.assessment.librarySystem.dto.response.HoldResponse;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BookHold;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.model.HoldStatus;
+import com.assessment.librarySystem.repository.BookHoldRepository;
+import com.assessment.librarySystem.repository.BorrowRecordRepository;
+import com.assessment.librarySystem.repository.projection.HoldCandidate;
+import com.assessment.librarySystem.service.impl.HoldServiceImpl;
+import com.assessment.librarySystem.service.interfaces.BookLocks;
+import com.assessment.librarySystem.service.interfaces.BorrowerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class HoldServiceTest {
+
+    @Mock
+    private BookHoldRepository bookHoldRepository;
+
+    @Mock
+    private BorrowRecordRepository borrowRecordRepository;
+
+    @Mock
+    private BorrowerService borrowerService;
+
+    @Mock
+    private BookLocks bookLocks;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private HoldServiceImpl holdService;
+    private Borrower borrower;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldServiceImpl(bookHoldRepository, borrowRecordRepository, borrowerService, bookLocks,
+            transactionManager, eventPublisher, new HoldProperties(Duration.ofHours(48)), new SimpleMeterRegistry());
+
+        borrower = new Borrower("John Doe", "john@example.com");
+        borrower.setId(1L);
+        book = new Book("978-0134685991", "Effective Java", "Joshua Bloch");
+        book.setId(1L);
+    }
+
+    @Test
+    void placeHold_BookOnLoan_JoinsEndOfQueue() {
+        // Given
+        runLockedActions();
+        when(bookHoldRepository.findHoldCandidate(1L, 1L))
+            .thenReturn(Optional.of(new HoldCandidate(borrower, book, 2L, null, false, 3)));
+        when(bookHoldRepository.save(any(BookHold.class))).thenAnswer(invocation -> {
+            BookHold hold = invocation.getArgument(0);
+            hold.setId(10L);
+            return hold;
+        });
+
+        // When
+        HoldResponse response = holdService.placeHold(1L, 1L);
+
+        // Then
+        assertEquals(10L, response.holdId());
+        assertEquals(HoldStatus.WAITING, response.status());
+        assertEquals(4, response.position());
+        verify(bookLocks).withLock(eq(1L), any());
+        verify(bookHoldRepository).save(argThat(hold -> hold.getBorrower() == borrower && hold.getBook() == book));
+    }
+
+    @Test
+    void placeHold_BookFree_ThrowsException() {
+        // Given
+        runLockedActions();
+        when(bookHoldRepository.findHoldCandidate(1L, 1L))
+            .thenReturn(Optional.of(new HoldCandidate(borrower, book, null, null, false, 0)));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> holdService.placeHold(1L, 1L));
+        assertEquals("Book with ID 1 is available; borrow it instead", exception.getMessage());
+        verify(bookHoldRepository, never()).save(any());
+    }
+
+    @Test
+    void placeHold_BorrowerAlreadyHasBookOrHold_ThrowsException() {
+        // Given
+        runLockedActions();
+        when(bookHoldRepository.findHoldCandidate(1L, 1L)).thenReturn(
+            Optional.of(new HoldCandidate(borrower, book, 1L, null, false, 0)),
+            Optional.of(new HoldCandidate(borrower, book, null, 1L, false, 0)),
+            Optional.of(new HoldCandidate(borrower, book, 2L, null, true, 1)));
+
+        // When & Then
+        assertEquals("Borrower 1 already has book 1 on loan",
+            assertThrows(IllegalStateException.class, () -> holdService.placeHold(1L, 1L)).getMessage());
+        assertEquals("Book with ID 1 is already being kept for borrower 1",
+            assertThrows(IllegalStateException.class, () -> holdService.placeHold(1L, 1L)).getMessage());
+        assertEquals("Borrower 1 already has a hold on book 1",
+            assertThrows(IllegalStateException.class, () -> holdService.placeHold(1L, 1L)).getMessage());
+        verify(bookHoldRepository, never()).save(any());
+    }
+
+    @Test
+    void placeHold_BorrowerNotFound_ThrowsException() {
+        // Given
+        runLockedActions();
+        when(bookHoldRepository.findHoldCandidate(999L, 1L)).thenReturn(Optional.empty());
+        when(borrowerService.getBorrowerById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> holdService.placeHold(1L, 999L));
+        assertEquals("Borrower not found with ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void placeHold_NullBorrowerId_ThrowsException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> holdService.placeHold(1L, null));
+        verifyNoInteractions(bookLocks, bookHoldRepository);
+    }
+
+    @Test
+    void handOff_MakesFirstHoldReadyForEachBook() {
+        // Given
+        BookHold hold = new BookHold(borrower, book);
+        when(bookHoldRepository.findNextInQueue(List.of(1L, 2L))).thenReturn(List.of(hold));
+
+        // When
+        Map<Long, BookStatus.Reserved> reservations = holdService.handOff(List.of(1L, 2L));
+
+        // Then
+        assertEquals(HoldStatus.READY, hold.getStatus());
+        assertNotNull(hold.getReadyAt());
+        assertEquals(Map.of(1L, new BookStatus.Reserved(1L, "John Doe", hold.getReadyAt())), reservations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runLockedActions() {
+        when(bookLocks.withLock(any(), any())).thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(1)).get());
+    }
+}
@@ -0,0 +1,144 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.BorrowRecord;
+import com.assessment.librarySystem.model.Borrower;
+import com.assessment.librarySystem.service.impl.BorrowServiceImpl;
+import com.assessment.librarySystem.service.impl.LockingBorrowService;
+import com.assessment.librarySystem.service.interfaces.AvailabilityIndex;
+import com.assessment.librarySystem.service.interfaces.BookLocks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class LockingBorrowServiceTest {
+
+    @Mock
+    private BorrowServiceImpl delegate;
+
+    @Mock
+    private BookLocks bookLocks;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LockingBorrowService borrowService;
+
+    @BeforeEach
+    void setUp() {
+        borrowService = new LockingBorrowService(delegate, bookLocks, availabilityIndex, meterRegistry);
+    }
+
+    @Test
+    void borrowBook_Available_BorrowsUnderBookLock() {
+        // Given
+        BorrowRecord record = new BorrowRecord(new Borrower("John Doe", "john@example.com"),
+            new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+        when(availabilityIndex.isAvailable(1L)).thenReturn(true);
+        when(bookLocks.withLock(eq(1L), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(delegate.borrowBook(2L, 1L)).thenReturn(record);
+
+        // When
+        BorrowRecord result = borrowService.borrowBook(2L, 1L);
+
+        // Then
+        assertSame(record, result);
+        verify(availabilityIndex, times(2)).isAvailable(1L);
+        assertEquals(0, fastFails());
+    }
+
+    @Test
+    void borrowBook_OnLoan_RefusedBeforeQueueing() {
+        // Given
+        when(availabilityIndex.isAvailable(1L)).thenReturn(false);
+        when(availabilityIndex.reservedFor(1L)).thenReturn(null);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowService.borrowBook(2L, 1L));
+        assertEquals("Book with ID 1 is already borrowed", exception.getMessage());
+        verify(bookLocks, never()).withLock(any(), any());
+        verifyNoInteractions(delegate);
+        assertEquals(1, fastFails());
+        assertEquals(1, meterRegistry.get(BorrowServiceImpl.BORROW_REJECTIONS_METRIC)
+            .tag("reason", "already_borrowed").counter().count());
+    }
+
+    @Test
+    void borrowBook_BorrowedWhileQueued_RefusedWithoutDelegate() {
+        // Given: free on arrival, taken by the request holding the lock before us
+        when(availabilityIndex.isAvailable(1L)).thenReturn(true, false);
+        when(availabilityIndex.reservedFor(1L)).thenReturn(null);
+        when(bookLocks.withLock(eq(1L), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> borrowService.borrowBook(2L, 1L));
+        verifyNoInteractions(delegate);
+        assertEquals(1, fastFails());
+    }
+
+    @Test
+    void borrowBook_KeptForHold_OnlyHolderGetsThrough() {
+        // Given
+        when(availabilityIndex.isAvailable(1L)).thenReturn(false);
+        when(availabilityIndex.reservedFor(1L)).thenReturn(2L);
+        when(bookLocks.withLock(eq(1L), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowService.borrowBook(3L, 1L));
+        borrowService.borrowBook(2L, 1L);
+
+        // Then
+        assertEquals("Book with ID 1 is being kept for another borrower", exception.getMessage());
+        verify(delegate).borrowBook(2L, 1L);
+        verify(delegate, never()).borrowBook(eq(3L), any());
+        assertEquals(1, meterRegistry.get(BorrowServiceImpl.BORROW_REJECTIONS_METRIC)
+            .tag("reason", "reserved").counter().count());
+    }
+
+    @Test
+    void returnBook_TakesBookLock() {
+        // Given
+        when(bookLocks.withLock(eq(1L), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        // When
+        borrowService.returnBook(2L, 1L);
+
+        // Then
+        verify(bookLocks).withLock(eq(1L), any());
+        verify(delegate).returnBook(2L, 1L);
+    }
+
+    @Test
+    void borrowBook_LocksSharedAcrossInstances_LeavesCheckToDatabase() {
+        // Given
+        when(bookLocks.isSharedAcrossInstances()).thenReturn(true);
+        when(bookLocks.withLock(eq(1L), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        // When
+        borrowService.borrowBook(2L, 1L);
+
+        // Then
+        verify(delegate).borrowBook(2L, 1L);
+        verifyNoInteractions(availabilityIndex);
+    }
+
+    private double fastFails() {
+        return meterRegistry.get(LockingBorrowService.FAST_FAILS_METRIC).counter().count();
+    }
+}
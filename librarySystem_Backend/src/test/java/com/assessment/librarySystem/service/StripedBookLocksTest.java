@@ -0,0 +1,133 @@
+package com.assessment.librarySystem.service;
+
+import com.assessment.librarySystem.config.BorrowContentionProperties;
+import com.assessment.librarySystem.config.BorrowContentionProperties.Mode;
+import com.assessment.librarySystem.service.impl.StripedBookLocks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class StripedBookLocksTest {
+
+    private static final String ADVISORY_LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void withLock_Local_RunsActionWithoutDatabase() {
+        // Given
+        StripedBookLocks bookLocks = bookLocks(Mode.LOCAL, Duration.ofSeconds(1));
+
+        // When
+        String result = bookLocks.withLock(42L, () -> "borrowed");
+
+        // Then
+        assertEquals("borrowed", result);
+        assertFalse(bookLocks.isSharedAcrossInstances());
+        verifyNoInteractions(transactionManager, jdbcTemplate);
+        assertEquals(1, lockWaits("acquired"));
+    }
+
+    @Test
+    void withLock_HeldByAnotherRequest_RefusedAfterMaxWait() throws Exception {
+        // Given
+        StripedBookLocks bookLocks = bookLocks(Mode.LOCAL, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> bookLocks.withLock(42L, () -> {
+                holding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            // When & Then
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookLocks.withLock(42L, () -> "borrowed"));
+            assertEquals("Book with ID 42 is in high demand; please try again", exception.getMessage());
+            assertEquals(1, lockWaits("timeout"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void withLock_Advisory_TakesDatabaseLockInsideTransaction() {
+        // Given
+        StripedBookLocks bookLocks = bookLocks(Mode.ADVISORY, Duration.ofSeconds(2));
+
+        // When
+        String result = bookLocks.withLock(42L, () -> "borrowed");
+
+        // Then
+        assertEquals("borrowed", result);
+        assertTrue(bookLocks.isSharedAcrossInstances());
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).query(eq("SELECT set_config('lock_timeout', ?, true)"), any(ResultSetExtractor.class), eq("2000ms"));
+        inOrder.verify(jdbcTemplate).query(eq(ADVISORY_LOCK_SQL), any(ResultSetExtractor.class),
+            eq(StripedBookLocks.BOOK_LOCK_NAMESPACE), eq(42));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void withLock_AdvisoryLockTimeout_RefusedAndRolledBack() {
+        // Given
+        StripedBookLocks bookLocks = bookLocks(Mode.ADVISORY, Duration.ofSeconds(2));
+        lenient().when(jdbcTemplate.query(eq(ADVISORY_LOCK_SQL), any(ResultSetExtractor.class),
+                eq(StripedBookLocks.BOOK_LOCK_NAMESPACE), eq(42)))
+            .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> bookLocks.withLock(42L, () -> "borrowed"));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(1, lockWaits("timeout"));
+    }
+
+    private StripedBookLocks bookLocks(Mode mode, Duration maxWait) {
+        return new StripedBookLocks(new BorrowContentionProperties(mode, 16, maxWait), transactionManager, jdbcTemplate, meterRegistry);
+    }
+
+    private long lockWaits(String outcome) {
+        return meterRegistry.get(StripedBookLocks.LOCK_WAIT_METRIC).tag("outcome", outcome).timer().count();
+    }
+}
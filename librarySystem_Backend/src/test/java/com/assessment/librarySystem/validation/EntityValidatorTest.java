@@ -0,0 +1,48 @@
+package com.assessment.librarySystem.validation;
+
+import com.assessment.librarySystem.common.ValidationResult;
+import com.assessment.librarySystem.model.Book;
+import com.assessment.librarySystem.model.Borrower;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityValidatorTest {
+
+    @Test
+    void validateBook_ValidBook_ReturnsSharedValidResult() {
+        // When
+        ValidationResult result = BookValidator.validate(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+
+        // Then
+        assertTrue(result.isValid());
+        assertSame(ValidationResult.VALID, result);
+    }
+
+    @Test
+    void validateBook_ReportsEveryError() {
+        // When
+        ValidationResult result = BookValidator.validate(new Book("978-0134685990", " ", null));
+
+        // Then
+        assertEquals(List.of("Book title is required", "Book author is required", "Invalid ISBN checksum"), result.getErrors());
+        assertEquals("Book title is required; Book author is required; Invalid ISBN checksum", result.getErrorMessage());
+    }
+
+    @Test
+    void validateBorrower_ReportsEveryError() {
+        // When
+        ValidationResult result = BorrowerValidator.validate(new Borrower("J", "not-an-email"));
+
+        // Then
+        assertEquals(List.of("Borrower name must be between 2 and 100 characters", "Invalid email format"), result.getErrors());
+    }
+
+    @Test
+    void validateBorrower_ValidBorrower_ReturnsValid() {
+        assertTrue(BorrowerValidator.validate(new Borrower("John Doe", "john.doe+library@example.co.uk")).isValid());
+        assertEquals(List.of("Borrower cannot be null"), BorrowerValidator.validate(null).getErrors());
+    }
+}
@@ -0,0 +1,38 @@
+package com.assessment.librarySystem.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsbnValidatorTest {
+
+    @Test
+    void check_AcceptsValidIsbn13WithSeparators() {
+        assertEquals(IsbnValidator.Result.VALID, IsbnValidator.check("978-0134685991"));
+        assertEquals(IsbnValidator.Result.VALID, IsbnValidator.check("978 0 321 35668 0"));
+        assertEquals(IsbnValidator.Result.VALID, IsbnValidator.check("9780321356680"));
+    }
+
+    @Test
+    void check_AcceptsValidIsbn10IncludingXCheckDigit() {
+        assertEquals(IsbnValidator.Result.VALID, IsbnValidator.check("0-306-40615-2"));
+        assertEquals(IsbnValidator.Result.VALID, IsbnValidator.check("0-8044-2957-X"));
+        assertEquals(IsbnValidator.Result.VALID, IsbnValidator.check("080442957x"));
+    }
+
+    @Test
+    void check_ReportsWrongCheckDigit() {
+        assertEquals(IsbnValidator.Result.INVALID_CHECKSUM, IsbnValidator.check("978-0134685990"));
+        assertEquals(IsbnValidator.Result.INVALID_CHECKSUM, IsbnValidator.check("0-306-40615-3"));
+    }
+
+    @Test
+    void check_ReportsMalformedInput() {
+        assertEquals(IsbnValidator.Result.INVALID_FORMAT, IsbnValidator.check("invalid-isbn"));
+        assertEquals(IsbnValidator.Result.INVALID_FORMAT, IsbnValidator.check("978-01346859"));
+        assertEquals(IsbnValidator.Result.INVALID_FORMAT, IsbnValidator.check("978-01346859912"));
+        assertEquals(IsbnValidator.Result.INVALID_FORMAT, IsbnValidator.check("978013468599X"));
+        assertEquals(IsbnValidator.Result.INVALID_FORMAT, IsbnValidator.check("0-8044-2957-X1"));
+        assertEquals(IsbnValidator.Result.INVALID_FORMAT, IsbnValidator.check(""));
+    }
+}